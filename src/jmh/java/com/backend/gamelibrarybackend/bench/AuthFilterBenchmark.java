@@ -0,0 +1,86 @@
+package com.backend.gamelibrarybackend.bench;
+
+import com.backend.gamelibrarybackend.config.FirebaseAuthFilter;
+import com.backend.gamelibrarybackend.config.FirebasePublicKeys;
+import com.backend.gamelibrarybackend.config.FirebaseTokenVerifier;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * FirebaseAuthFilter per request: a token already in the verifier's cache, a token
+ * seen for the first time (cache miss, then a stub FirebaseAuth that answers
+ * immediately, so only our own overhead is measured), and a missing header.
+ * Google's keys are never loaded, so nothing touches the network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuthFilterBenchmark {
+
+    private FirebaseAuthFilter filter;
+    private final AtomicLong tokens = new AtomicLong();
+
+    @Setup
+    public void setup() throws Exception {
+        FirebaseToken token = mock(FirebaseToken.class);
+        when(token.getUid()).thenReturn("bench-user");
+        when(token.getEmail()).thenReturn("bench@example.com");
+        when(token.getClaims()).thenReturn(Map.of("exp", Instant.now().plusSeconds(3600).getEpochSecond()));
+        FirebaseAuth firebaseAuth = mock(FirebaseAuth.class);
+        when(firebaseAuth.verifyIdToken(anyString())).thenReturn(token);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        FirebaseTokenVerifier verifier = new FirebaseTokenVerifier(firebaseAuth, null,
+                new FirebasePublicKeys(objectMapper, "http://127.0.0.1:9/unused"),
+                objectMapper, new SimpleMeterRegistry(), "bench-project", 10_000);
+        filter = new FirebaseAuthFilter(verifier);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse cachedToken() throws Exception {
+        return run("Bearer cached-token");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse newToken() throws Exception {
+        return run("Bearer token-" + tokens.incrementAndGet());
+    }
+
+    @Benchmark
+    public MockHttpServletResponse missingHeader() throws Exception {
+        return run(null);
+    }
+
+    // A fresh request each time: OncePerRequestFilter marks requests it has seen.
+    private MockHttpServletResponse run(String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/admin/getFavouriteGames");
+        request.setServletPath("/admin/getFavouriteGames");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
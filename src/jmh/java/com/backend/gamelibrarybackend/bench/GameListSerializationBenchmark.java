@@ -0,0 +1,77 @@
+package com.backend.gamelibrarybackend.bench;
+
+import com.backend.gamelibrarybackend.dto.GameListItemDTO;
+import com.backend.gamelibrarybackend.models.GameItemEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson encoding of a list response, as entities (what the detail endpoint and the
+ * old list endpoints serialize) and as the GameListItemDTO projection the list
+ * endpoints use now. Mapper configured like Boot's (Java time module, ISO dates).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameListSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private ObjectMapper mapper;
+    private List<GameItemEntity> entities;
+    private List<GameListItemDTO> listItems;
+
+    @Setup
+    public void setup() {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        entities = new ArrayList<>(size);
+        listItems = new ArrayList<>(size);
+        Instant now = Instant.now();
+        for (int i = 0; i < size; i++) {
+            GameItemEntity game = new GameItemEntity("Game " + i, 2000 + i % 25, 2010 + i % 15,
+                    i % 2 == 0, i % 5 == 0, i % 3 == 0,
+                    "A fairly typical special description for game " + i,
+                    "http://localhost:8080/uploads/bench-user/" + i + ".png", "bench-user");
+            game.setNote("Some notes about game " + i + ", a sentence or two long.");
+            game.setGallery(new ArrayList<>(List.of(
+                    "http://localhost:8080/uploads/bench-user/" + i + "-1.png",
+                    "http://localhost:8080/uploads/bench-user/" + i + "-2.png")));
+            game.setVideos(new ArrayList<>(List.of("http://localhost:8080/uploads/bench-user/" + i + ".mp4")));
+            game.setCreatedAt(now);
+            game.setUpdatedAt(now);
+            entities.add(game);
+
+            GameListItemDTO item = new GameListItemDTO((long) i, game.getName(), game.getYear(), game.getCompletedYear(),
+                    game.isCompleted(), game.isHundredPercent(), game.isFavourite(),
+                    game.getSpecialDescription(), game.getImageUrl(), game.getUserId(), game.getNote(),
+                    now, now);
+            item.gallery().addAll(game.getGallery());
+            item.videos().addAll(game.getVideos());
+            listItems.add(item);
+        }
+    }
+
+    @Benchmark
+    public byte[] entities() throws Exception {
+        return mapper.writeValueAsBytes(entities);
+    }
+
+    @Benchmark
+    public byte[] listItems() throws Exception {
+        return mapper.writeValueAsBytes(listItems);
+    }
+}
@@ -0,0 +1,75 @@
+package com.backend.gamelibrarybackend.bench;
+
+import com.backend.gamelibrarybackend.service.LocalStorageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LocalStorageService.upload throughput. {@code duplicate=false} writes new content
+ * every time (hash + temp file + rename); {@code duplicate=true} re-uploads the same
+ * bytes, which content addressing turns into hash + exists check. New files are
+ * removed after each invocation so a long run does not fill the disk.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LocalStorageUploadBenchmark {
+
+    @Param({"65536", "1048576"})
+    public int bytes;
+
+    @Param({"false", "true"})
+    public boolean duplicate;
+
+    private Path dir;
+    private LocalStorageService storage;
+    private byte[] payload;
+    private long counter;
+    private String lastUrl;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("bench-uploads-");
+        storage = new LocalStorageService(dir.toString(), "http://localhost:8080/uploads");
+        payload = new byte[bytes];
+        new SplittableRandom(1).nextBytes(payload);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(dir);
+    }
+
+    @TearDown(Level.Invocation)
+    public void removeNewFile() throws IOException {
+        if (!duplicate && lastUrl != null) {
+            storage.delete(lastUrl);
+        }
+    }
+
+    @Benchmark
+    public String upload() throws IOException {
+        if (!duplicate) {
+            ByteBuffer.wrap(payload).putLong(0, ++counter);
+        }
+        lastUrl = storage.upload(new MockMultipartFile("files", "cover.png", "image/png", payload), "bench-user");
+        return lastUrl;
+    }
+}
@@ -0,0 +1,204 @@
+package com.backend.gamelibrarybackend.bench;
+
+import com.backend.gamelibrarybackend.config.SqliteDataSourceConfig;
+import com.backend.gamelibrarybackend.dto.GameCursor;
+import com.backend.gamelibrarybackend.dto.GameListItemDTO;
+import com.backend.gamelibrarybackend.models.GameItemEntity;
+import com.backend.gamelibrarybackend.repository.GameItemRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GameItemRepository against a seeded SQLite file: 1,000 users x 100 games (100k rows,
+ * two gallery images each, a video on every third). The file is kept in build/jmh and
+ * reused across runs. The context holds only JPA, the repositories and the production
+ * two-pool SqliteDataSourceConfig, so Firebase and the web layer stay out of it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RepositoryQueryBenchmark {
+
+    static final int USERS = 1_000;
+    static final int GAMES_PER_USER = 100;
+
+    private ConfigurableApplicationContext context;
+    private GameItemRepository repository;
+
+    @Configuration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = GameItemEntity.class)
+    @EnableJpaRepositories(basePackageClasses = GameItemRepository.class)
+    @Import(SqliteDataSourceConfig.class)
+    static class BenchConfig {
+    }
+
+    @State(Scope.Thread)
+    public static class Picker {
+        private final SplittableRandom random = new SplittableRandom(42);
+
+        String user() {
+            return "user-" + random.nextInt(USERS);
+        }
+
+        /** A game id together with the user that owns it (ids follow seeding order). */
+        long gameId() {
+            return 1 + random.nextInt(USERS * GAMES_PER_USER);
+        }
+
+        int year() {
+            return 2010 + random.nextInt(15);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        Path db = Paths.get("build", "jmh", "bench-100k.db").toAbsolutePath();
+        Files.createDirectories(db.getParent());
+        context = new SpringApplicationBuilder(BenchConfig.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .properties(
+                        "spring.datasource.url=jdbc:sqlite:" + db,
+                        "spring.jpa.properties.hibernate.dialect=org.hibernate.community.dialect.SQLiteDialect",
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "spring.jpa.open-in-view=false",
+                        "logging.level.root=WARN")
+                .run();
+        repository = context.getBean(GameItemRepository.class);
+        seedIfEmpty(context.getBean(DataSource.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<GameListItemDTO> favouritesFirstPage(Picker picker) {
+        return repository.findFavouritePage(picker.user(), GameCursor.START.createdAt(), GameCursor.START.id(), Limit.of(51));
+    }
+
+    @Benchmark
+    public List<GameListItemDTO> toBeCompletedAll(Picker picker) {
+        return repository.findToBeCompletedPage(picker.user(), GameCursor.START.createdAt(), GameCursor.START.id(), Limit.unlimited());
+    }
+
+    @Benchmark
+    public List<GameListItemDTO> completedByYear(Picker picker) {
+        return repository.findCompletedByYearPage(picker.user(), picker.year(),
+                GameCursor.START.createdAt(), GameCursor.START.id(), Limit.unlimited());
+    }
+
+    @Benchmark
+    public Optional<GameItemEntity> detailWithGallery(Picker picker) {
+        long id = picker.gameId();
+        String owner = "user-" + ((id - 1) / GAMES_PER_USER);
+        return repository.findWithGalleryByIdAndUserId(id, owner);
+    }
+
+    @Benchmark
+    public long countByUser(Picker picker) {
+        return repository.countByUserId(picker.user());
+    }
+
+    private static void seedIfEmpty(DataSource dataSource) throws Exception {
+        try (Connection con = dataSource.getConnection()) {
+            try (Statement st = con.createStatement();
+                 ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM game_item_entity")) {
+                rs.next();
+                if (rs.getLong(1) >= (long) USERS * GAMES_PER_USER) {
+                    return;
+                }
+            }
+            con.setAutoCommit(false);
+            try (Statement st = con.createStatement()) {
+                st.executeUpdate("DELETE FROM game_gallery");
+                st.executeUpdate("DELETE FROM game_videos");
+                // rowid ids restart at 1 once the table is empty, which Picker relies on.
+                st.executeUpdate("DELETE FROM game_item_entity");
+            }
+            Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+            Instant base = Instant.parse("2020-01-01T00:00:00Z");
+            try (PreparedStatement game = con.prepareStatement("""
+                    INSERT INTO game_item_entity (name, year, completed_year, is_completed, is_hundred_percent,
+                        is_favourite, special_description, image_url, user_id, note, created_at, updated_at)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                    """);
+                 PreparedStatement gallery = con.prepareStatement("INSERT INTO game_gallery (game_id, url) VALUES (?, ?)");
+                 PreparedStatement videos = con.prepareStatement("INSERT INTO game_videos (game_id, url) VALUES (?, ?)")) {
+                long id = 0;
+                SplittableRandom random = new SplittableRandom(7);
+                for (int u = 0; u < USERS; u++) {
+                    String user = "user-" + u;
+                    for (int g = 0; g < GAMES_PER_USER; g++) {
+                        id++;
+                        boolean completed = random.nextInt(100) < 60;
+                        Timestamp created = Timestamp.from(base.plusSeconds(random.nextInt(150_000_000)));
+                        game.setString(1, "Game " + g);
+                        game.setInt(2, 2005 + random.nextInt(20));
+                        game.setInt(3, completed ? 2010 + random.nextInt(15) : 0);
+                        game.setBoolean(4, completed);
+                        game.setBoolean(5, completed && random.nextInt(100) < 20);
+                        game.setBoolean(6, random.nextInt(100) < 25);
+                        game.setString(7, "Special description " + g);
+                        game.setString(8, "http://localhost:8080/uploads/" + user + "/" + g + ".png");
+                        game.setString(9, user);
+                        game.setString(10, "Note for game " + g);
+                        game.setTimestamp(11, created, utc);
+                        game.setTimestamp(12, created, utc);
+                        game.addBatch();
+                        for (int i = 0; i < 2; i++) {
+                            gallery.setLong(1, id);
+                            gallery.setString(2, "http://localhost:8080/uploads/" + user + "/" + g + "-" + i + ".png");
+                            gallery.addBatch();
+                        }
+                        if (g % 3 == 0) {
+                            videos.setLong(1, id);
+                            videos.setString(2, "http://localhost:8080/uploads/" + user + "/" + g + ".mp4");
+                            videos.addBatch();
+                        }
+                    }
+                    game.executeBatch();
+                    gallery.executeBatch();
+                    videos.executeBatch();
+                }
+            }
+            con.commit();
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.backend.gamelibrarybackend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load driver for a backend started with the 'loadtest' profile
+ * (see application.properties). Run it with {@code ./gradlew loadtest}.
+ *
+ * Requests are issued at a fixed arrival rate whether or not earlier ones have
+ * finished, and every latency is measured from the moment the request was due, not
+ * from when it was actually sent. A server that stalls therefore shows up in the
+ * percentiles instead of quietly slowing the driver down (coordinated omission).
+ * When max-in-flight requests are already outstanding a due request is dropped and
+ * counted, rather than queued.
+ *
+ * The mix is weighted towards reads the way the frontend uses the API: list pages and
+ * detail views replay their ETag in If-None-Match, so a 304 counts as a success. Users
+ * are the ones LoadTestDataGenerator seeds; their game ids are read once up front
+ * from /admin/games/export.
+ *
+ * Settings are system properties, passed through from Gradle as -Ploadtest.*:
+ *   loadtest.baseUrl       http://localhost:8080
+ *   loadtest.rate          requests per second (200)
+ *   loadtest.duration      measured seconds (60)
+ *   loadtest.warmup        seconds run first and not recorded (10)
+ *   loadtest.users         users to spread requests over (50)
+ *   loadtest.maxInFlight   outstanding request cap (256)
+ *   loadtest.out           report directory (build/reports/loadtest)
+ */
+public final class LoadDriver {
+
+    private static final String USER_PREFIX = "loadtest-user-";
+    private static final String[] SEARCH_TERMS = {"legend", "chron", "front", "odys", "shadow", "hori", "king", "drift"};
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final String baseUrl;
+    private final Duration timeout = Duration.ofSeconds(30);
+    private final Map<String, String> etags = new ConcurrentHashMap<>();
+    private final AtomicLong addedGames = new AtomicLong();
+
+    private LoadDriver(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("loadtest.baseUrl", "http://localhost:8080");
+        int rate = Integer.getInteger("loadtest.rate", 200);
+        int duration = Integer.getInteger("loadtest.duration", 60);
+        int warmup = Integer.getInteger("loadtest.warmup", 10);
+        int users = Integer.getInteger("loadtest.users", 50);
+        int maxInFlight = Integer.getInteger("loadtest.maxInFlight", 256);
+        File out = new File(System.getProperty("loadtest.out", "build/reports/loadtest"));
+
+        LoadDriver driver = new LoadDriver(baseUrl);
+        List<UserData> data = driver.discover(users);
+        System.out.printf("Discovered %d users, %d games. %d req/s for %ds after %ds warm-up.%n",
+                data.size(), data.stream().mapToInt(u -> u.ids.length).sum(), rate, duration, warmup);
+
+        driver.run(data, rate, warmup, false, maxInFlight);
+        Map<Endpoint, Stats> stats = driver.run(data, rate, duration, true, maxInFlight);
+        driver.report(stats, rate, duration, out);
+    }
+
+    // --- discovery ---------------------------------------------------------------
+
+    private record UserData(String userId, long[] ids, int[] years) {
+    }
+
+    private List<UserData> discover(int users) throws Exception {
+        List<UserData> found = new ArrayList<>();
+        for (int u = 0; u < users; u++) {
+            String userId = USER_PREFIX + u;
+            HttpRequest request = authorized(userId, "/admin/games/export").GET().build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Export for " + userId + " returned " + response.statusCode()
+                        + ". Is the server running with the 'loadtest' profile?");
+            }
+            List<Long> ids = new ArrayList<>();
+            List<Integer> years = new ArrayList<>();
+            for (String line : response.body().split("\n")) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode game = mapper.readTree(line);
+                ids.add(game.path("id").asLong());
+                if (game.path("completed").asBoolean() && game.path("completedYear").asInt() > 0) {
+                    years.add(game.path("completedYear").asInt());
+                }
+            }
+            if (!ids.isEmpty()) {
+                found.add(new UserData(userId,
+                        ids.stream().mapToLong(Long::longValue).toArray(),
+                        years.stream().mapToInt(Integer::intValue).distinct().toArray()));
+            }
+        }
+        if (found.isEmpty()) {
+            throw new IllegalStateException("No load-test users have games; let LoadTestDataGenerator seed the database first.");
+        }
+        return found;
+    }
+
+    // --- request mix --------------------------------------------------------------
+
+    private enum Endpoint {
+        FAVOURITES(25), DETAIL(25), TO_BE_COMPLETED(15), BY_YEAR(15), NOTE(8), STATS(5), SEARCH(5), ADD_GAME(2);
+
+        final int weight;
+
+        Endpoint(int weight) {
+            this.weight = weight;
+        }
+
+        private static final Endpoint[] WHEEL = wheel();
+
+        private static Endpoint[] wheel() {
+            List<Endpoint> slots = new ArrayList<>();
+            for (Endpoint e : values()) {
+                for (int i = 0; i < e.weight; i++) {
+                    slots.add(e);
+                }
+            }
+            return slots.toArray(Endpoint[]::new);
+        }
+
+        static Endpoint pick(ThreadLocalRandom random) {
+            return WHEEL[random.nextInt(WHEEL.length)];
+        }
+    }
+
+    private HttpRequest build(Endpoint endpoint, UserData user, ThreadLocalRandom random) throws Exception {
+        return switch (endpoint) {
+            case FAVOURITES -> conditional(user.userId, "/admin/getFavouriteGames?limit=50");
+            case TO_BE_COMPLETED -> conditional(user.userId, "/admin/games/toBeCompleted?limit=50");
+            case BY_YEAR -> conditional(user.userId, "/admin/games/byYear/"
+                    + (user.years.length == 0 ? 2020 : user.years[random.nextInt(user.years.length)]) + "?limit=50");
+            case DETAIL -> conditional(user.userId, "/admin/games/" + user.ids[random.nextInt(user.ids.length)]);
+            case STATS -> authorized(user.userId, "/admin/stats").GET().build();
+            case SEARCH -> authorized(user.userId, "/admin/games/search?q="
+                    + SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)]).GET().build();
+            case NOTE -> json(authorized(user.userId, "/admin/games/" + user.ids[random.nextInt(user.ids.length)] + "/note"),
+                    "PUT", Map.of("note", "load test note " + random.nextInt(1_000_000)));
+            case ADD_GAME -> {
+                Map<String, Object> game = new LinkedHashMap<>();
+                game.put("name", "Load test game " + addedGames.incrementAndGet() + "-" + System.nanoTime());
+                game.put("year", 2000 + random.nextInt(25));
+                game.put("isCompleted", random.nextBoolean());
+                game.put("isFavourite", random.nextInt(5) == 0);
+                yield json(authorized(user.userId, "/admin/addGameItem"), "POST", game);
+            }
+        };
+    }
+
+    private HttpRequest.Builder authorized(String userId, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Authorization", "Bearer loadtest:" + userId);
+    }
+
+    private HttpRequest conditional(String userId, String path) {
+        HttpRequest.Builder builder = authorized(userId, path).GET();
+        String etag = etags.get(userId + " " + baseUrl + path);
+        if (etag != null) {
+            builder.header("If-None-Match", etag);
+        }
+        return builder.build();
+    }
+
+    private HttpRequest json(HttpRequest.Builder builder, String method, Object body) throws Exception {
+        return builder.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    // --- open-model loop ------------------------------------------------------------
+
+    private Map<Endpoint, Stats> run(List<UserData> users, int rate, int seconds, boolean record, int maxInFlight) {
+        Map<Endpoint, Stats> stats = new LinkedHashMap<>();
+        for (Endpoint e : Endpoint.values()) {
+            stats.put(e, new Stats());
+        }
+        AtomicInteger inFlight = new AtomicInteger();
+        long interval = 1_000_000_000L / Math.max(1, rate);
+        long start = System.nanoTime();
+        long total = (long) rate * seconds;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (long n = 0; n < total; n++) {
+            long intended = start + n * interval;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Endpoint endpoint = Endpoint.pick(random);
+            Stats s = stats.get(endpoint);
+            if (inFlight.get() >= maxInFlight) {
+                s.dropped.incrementAndGet();
+                continue;
+            }
+            UserData user = users.get(random.nextInt(users.size()));
+            final HttpRequest request;
+            try {
+                request = build(endpoint, user, random);
+            } catch (Exception e) {
+                s.errors.incrementAndGet();
+                continue;
+            }
+            inFlight.incrementAndGet();
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                    .whenComplete((response, failure) -> {
+                        inFlight.decrementAndGet();
+                        long latency = System.nanoTime() - intended;
+                        boolean ok = failure == null && (response.statusCode() < 400);
+                        if (ok && response.statusCode() == 200) {
+                            response.headers().firstValue("ETag").ifPresent(etag ->
+                                    etags.put(user.userId + " " + request.uri(), etag));
+                        }
+                        if (record) {
+                            s.record(latency, ok, failure == null && response.statusCode() == 304);
+                        }
+                    });
+        }
+        // Let the stragglers finish so they are counted (bounded by the request timeout).
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(10_000_000L);
+        }
+        return stats;
+    }
+
+    private static final class Stats {
+        private long[] latencies = new long[1024];
+        private int count;
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong dropped = new AtomicLong();
+        final AtomicLong notModified = new AtomicLong();
+
+        synchronized void record(long nanos, boolean ok, boolean was304) {
+            if (!ok) {
+                errors.incrementAndGet();
+            }
+            if (was304) {
+                notModified.incrementAndGet();
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(latencies, count);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+
+    // --- report ---------------------------------------------------------------------
+
+    private void report(Map<Endpoint, Stats> stats, int rate, int seconds, File dir) throws Exception {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("timestamp", Instant.now().toString());
+        json.put("baseUrl", baseUrl);
+        json.put("targetRate", rate);
+        json.put("durationSeconds", seconds);
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+
+        System.out.printf("%n%-16s %8s %7s %7s %7s %9s %9s %9s %8s%n",
+                "endpoint", "count", "errors", "304", "dropped", "p50 ms", "p99 ms", "max ms", "req/s");
+        long allCount = 0;
+        for (Map.Entry<Endpoint, Stats> entry : stats.entrySet()) {
+            Stats s = entry.getValue();
+            long[] sorted = s.sorted();
+            double p50 = millis(percentile(sorted, 0.50));
+            double p99 = millis(percentile(sorted, 0.99));
+            double max = millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]);
+            double throughput = (double) sorted.length / seconds;
+            allCount += sorted.length;
+            System.out.printf("%-16s %8d %7d %7d %7d %9.2f %9.2f %9.2f %8.1f%n",
+                    entry.getKey().name().toLowerCase(), sorted.length, s.errors.get(), s.notModified.get(),
+                    s.dropped.get(), p50, p99, max, throughput);
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("count", sorted.length);
+            row.put("errors", s.errors.get());
+            row.put("notModified", s.notModified.get());
+            row.put("dropped", s.dropped.get());
+            row.put("p50Ms", p50);
+            row.put("p99Ms", p99);
+            row.put("maxMs", max);
+            row.put("throughput", throughput);
+            endpoints.put(entry.getKey().name().toLowerCase(), row);
+        }
+        System.out.printf("%-16s %8d %58s %8.1f%n", "total", allCount, "", (double) allCount / seconds);
+        json.put("endpoints", endpoints);
+
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IllegalStateException("Cannot create " + dir);
+        }
+        File file = new File(dir, "loadtest-" + System.currentTimeMillis() + ".json");
+        mapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, json);
+        System.out.println("\nReport written to " + file);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
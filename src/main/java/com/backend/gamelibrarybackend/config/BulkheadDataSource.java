@@ -0,0 +1,107 @@
+package com.backend.gamelibrarybackend.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Puts a fair semaphore with as many permits as the pool has connections in front of
+ * a pool. Callers queue here in arrival order and only reach Hikari once a connection
+ * is free, so Hikari never has waiters of its own and its connection-timeout never
+ * fires under a burst; a caller that waits longer than timeoutMs fails with the same
+ * SQLTransientConnectionException Hikari would throw.
+ *
+ * The wait is a java.util.concurrent park, which unmounts a virtual thread instead of
+ * holding its carrier. sqlite-jdbc statements are native calls and do pin the carrier
+ * while they run, so the permit count also caps how many carriers SQLite can hold.
+ * The permit is returned when the connection is closed (once, however often close is called).
+ */
+final class BulkheadDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final long timeoutMs;
+    private final String name;
+
+    BulkheadDataSource(DataSource target, String name, int permits, long timeoutMs) {
+        super(target);
+        this.name = name;
+        this.permits = new Semaphore(Math.max(1, permits), true);
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasing(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasing(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    int available() {
+        return permits.availablePermits();
+    }
+
+    int waiting() {
+        return permits.getQueueLength();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        name + " - Connection is not available, request timed out after " + timeoutMs + "ms in the bulkhead.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException(name + " - Interrupted while waiting for a connection", e);
+        }
+    }
+
+    private Connection releasing(Connection target) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "Bulkhead[" + name + "] " + target;
+                        default:
+                            break;
+                    }
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    } finally {
+                        if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                });
+    }
+}
@@ -45,8 +45,8 @@ public class CorsConfig {
 
         config.setAllowedOriginPatterns(new ArrayList<>(origins));
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
-        config.setAllowedHeaders(List.of("Authorization", "Content-Type", "Accept"));
-        config.setExposedHeaders(List.of("Authorization"));
+        config.setAllowedHeaders(List.of("Authorization", "Content-Type", "Accept", "If-None-Match"));
+        config.setExposedHeaders(List.of("Authorization", "ETag"));
         config.setAllowCredentials(false);
         config.setMaxAge(3600L);
 
@@ -1,8 +1,5 @@
 package com.backend.gamelibrarybackend.config;
 
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseAuthException;
-import com.google.firebase.auth.FirebaseToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,10 +14,10 @@ import java.io.IOException;
 @Component
 public class FirebaseAuthFilter extends OncePerRequestFilter {
 
-    private final FirebaseAuth firebaseAuth;
+    private final TokenVerifier tokenVerifier;
 
-    public FirebaseAuthFilter(FirebaseAuth firebaseAuth) {
-        this.firebaseAuth = firebaseAuth;
+    public FirebaseAuthFilter(TokenVerifier tokenVerifier) {
+        this.tokenVerifier = tokenVerifier;
     }
 
     @Override
@@ -48,14 +45,15 @@ public class FirebaseAuthFilter extends OncePerRequestFilter {
 
         String idToken = authHeader.substring(7);
         try {
-            FirebaseToken decodedToken = firebaseAuth.verifyIdToken(idToken);
-            request.setAttribute("firebaseUid", decodedToken.getUid());
-            request.setAttribute("firebaseEmail", decodedToken.getEmail());
-            filterChain.doFilter(request, response);
-        } catch (FirebaseAuthException e) {
+            TokenVerifier.VerifiedToken decodedToken = tokenVerifier.verify(idToken);
+            request.setAttribute("firebaseUid", decodedToken.uid());
+            request.setAttribute("firebaseEmail", decodedToken.email());
+        } catch (TokenVerifier.InvalidTokenException e) {
             addCorsHeaders(response);
             response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid Firebase ID token");
+            return;
         }
+        filterChain.doFilter(request, response);
     }
 
     private void addCorsHeaders(HttpServletResponse response) {
@@ -7,6 +7,7 @@ import com.google.firebase.auth.FirebaseAuth;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.util.StringUtils;
 
 import java.io.FileInputStream;
@@ -17,6 +18,8 @@ import java.util.Base64;
 import java.util.List;
 
 @Configuration
+// The loadtest profile runs with no Firebase project or network (LoadTestTokenVerifier).
+@Profile("!loadtest")
 public class FirebaseConfig {
 
     @Value("${firebase.admin.credentials.file:}")
@@ -0,0 +1,127 @@
+package com.backend.gamelibrarybackend.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.PublicKey;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory copy of the X.509 certificates Google signs Firebase ID tokens with.
+ * A single background thread refreshes them shortly before the Cache-Control
+ * max-age Google sends runs out, so request threads only ever read a map and never
+ * wait on the network for key material.
+ */
+@Component
+@Profile("!loadtest")
+public class FirebasePublicKeys {
+
+    private static final Logger log = LoggerFactory.getLogger(FirebasePublicKeys.class);
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+    private static final Duration MIN_REFRESH = Duration.ofMinutes(1);
+
+    private final ObjectMapper objectMapper;
+    private final String certificatesUrl;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "firebase-key-refresh");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile Map<String, PublicKey> keys = Collections.emptyMap();
+
+    public FirebasePublicKeys(ObjectMapper objectMapper,
+                              @Value("${firebase.auth.certificates-url:https://www.googleapis.com/robot/v1/metadata/x509/securetoken@system.gserviceaccount.com}") String certificatesUrl) {
+        this.objectMapper = objectMapper;
+        this.certificatesUrl = certificatesUrl;
+    }
+
+    @PostConstruct
+    void start() {
+        refresher.execute(this::refresh);
+    }
+
+    @PreDestroy
+    void stop() {
+        refresher.shutdownNow();
+    }
+
+    /** The key for {@code kid}, or null if it is unknown or keys have not loaded yet. */
+    public PublicKey get(String kid) {
+        return kid == null ? null : keys.get(kid);
+    }
+
+    public boolean isLoaded() {
+        return !keys.isEmpty();
+    }
+
+    private void refresh() {
+        Duration next;
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(certificatesUrl))
+                    .timeout(Duration.ofSeconds(10))
+                    .GET()
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("HTTP " + response.statusCode());
+            }
+            keys = parse(response.body());
+            next = refreshDelay(response.headers().firstValue("Cache-Control").orElse(""));
+        } catch (Exception e) {
+            log.warn("Could not refresh Firebase signing certificates ({}); retrying in {}s",
+                    e.getMessage(), RETRY_DELAY.toSeconds());
+            next = RETRY_DELAY;
+        }
+        refresher.schedule(this::refresh, next.toSeconds(), TimeUnit.SECONDS);
+    }
+
+    private Map<String, PublicKey> parse(String body) throws Exception {
+        Map<String, String> pems = objectMapper.readValue(body, new TypeReference<Map<String, String>>() {});
+        CertificateFactory factory = CertificateFactory.getInstance("X.509");
+        Map<String, PublicKey> parsed = new HashMap<>();
+        for (Map.Entry<String, String> entry : pems.entrySet()) {
+            X509Certificate cert = (X509Certificate) factory.generateCertificate(
+                    new ByteArrayInputStream(entry.getValue().getBytes(StandardCharsets.US_ASCII)));
+            parsed.put(entry.getKey(), cert.getPublicKey());
+        }
+        return Map.copyOf(parsed);
+    }
+
+    // Refresh at ~90% of max-age so the new set is in place before the old one expires.
+    private static Duration refreshDelay(String cacheControl) {
+        Matcher m = MAX_AGE.matcher(cacheControl);
+        if (!m.find()) {
+            return Duration.ofHours(1);
+        }
+        Duration delay = Duration.ofSeconds(Long.parseLong(m.group(1)) * 9 / 10);
+        return delay.compareTo(MIN_REFRESH) < 0 ? MIN_REFRESH : delay;
+    }
+}
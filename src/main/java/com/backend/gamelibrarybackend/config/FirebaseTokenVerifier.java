@@ -0,0 +1,236 @@
+package com.backend.gamelibrarybackend.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.ImplFirebaseTrampolines;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthException;
+import com.google.firebase.auth.FirebaseToken;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Verifies Firebase ID tokens for {@link FirebaseAuthFilter}.
+ *
+ * Decoded tokens are cached (keyed by the SHA-256 of the raw token, never the token
+ * itself) until their own {@code exp}, so a client re-sending the same token pays
+ * for one hash lookup instead of a signature check. On a miss the RS256 signature
+ * and the standard Firebase claims are checked locally against
+ * {@link FirebasePublicKeys}; the Admin SDK is only used when the keys are not
+ * loaded yet or the token names a key id we have not seen.
+ */
+@Component
+@Profile("!loadtest")
+public class FirebaseTokenVerifier implements TokenVerifier {
+
+    // Same allowance the Admin SDK gives for clock drift between us and Google.
+    private static final Duration CLOCK_SKEW = Duration.ofMinutes(5);
+
+    private final FirebaseAuth firebaseAuth;
+    private final FirebasePublicKeys publicKeys;
+    private final ObjectMapper objectMapper;
+    private final String projectId;
+    private final Cache<String, VerifiedToken> cache;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder localVerifications = new LongAdder();
+    private final LongAdder sdkVerifications = new LongAdder();
+
+    @Autowired
+    public FirebaseTokenVerifier(FirebaseAuth firebaseAuth,
+                                 FirebaseApp firebaseApp,
+                                 FirebasePublicKeys publicKeys,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${firebase.auth.project-id:}") String configuredProjectId,
+                                 @Value("${firebase.auth.token-cache.max-size:10000}") long maxCachedTokens) {
+        this(firebaseAuth, firebaseApp, publicKeys, objectMapper, meterRegistry, configuredProjectId,
+                maxCachedTokens, Clock.systemUTC());
+    }
+
+    // Tests pass a fixed clock to move past exp without waiting.
+    FirebaseTokenVerifier(FirebaseAuth firebaseAuth,
+                          FirebaseApp firebaseApp,
+                          FirebasePublicKeys publicKeys,
+                          ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry,
+                          String configuredProjectId,
+                          long maxCachedTokens,
+                          Clock clock) {
+        this.clock = clock;
+        this.firebaseAuth = firebaseAuth;
+        this.publicKeys = publicKeys;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.projectId = StringUtils.hasText(configuredProjectId)
+                ? configuredProjectId
+                : ImplFirebaseTrampolines.getProjectId(firebaseApp);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxCachedTokens)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        return Math.max(0, Duration.between(clock.instant(), value.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /** Timed as auth.token.verify, tagged with how the token was resolved: cache, local, sdk or invalid. */
+    @Override
+    public VerifiedToken verify(String idToken) throws InvalidTokenException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String result = "invalid";
+        try {
+            String key = sha256(idToken);
+            VerifiedToken cached = cache.getIfPresent(key);
+            if (cached != null && cached.expiresAt().isAfter(clock.instant())) {
+                hits.increment();
+                result = "cache";
+                return cached;
+            }
+            misses.increment();
+
+            VerifiedToken verified = verifyLocally(idToken);
+            String via = "local";
+            if (verified == null) {
+                verified = verifyWithSdk(idToken);
+                via = "sdk";
+            }
+            cache.put(key, verified);
+            result = via;
+            return verified;
+        } finally {
+            sample.stop(meterRegistry.timer("auth.token.verify", "result", result));
+        }
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        return Map.of(
+                "cacheSize", cache.estimatedSize(),
+                "hits", hits.sum(),
+                "misses", misses.sum(),
+                "localVerifications", localVerifications.sum(),
+                "sdkVerifications", sdkVerifications.sum(),
+                "keysLoaded", publicKeys.isLoaded());
+    }
+
+    /**
+     * Returns null when this token cannot be checked locally (no project id, keys not
+     * loaded, unknown kid) so the caller falls back to the SDK. Throws when the token
+     * is definitely invalid.
+     */
+    private VerifiedToken verifyLocally(String idToken) throws InvalidTokenException {
+        if (projectId == null || !publicKeys.isLoaded()) {
+            return null;
+        }
+        String[] parts = idToken.split("\\.");
+        if (parts.length != 3) {
+            throw new InvalidTokenException("Malformed token");
+        }
+        JsonNode header = decodeJson(parts[0]);
+        if (!"RS256".equals(header.path("alg").asText())) {
+            throw new InvalidTokenException("Unexpected signing algorithm");
+        }
+        PublicKey key = publicKeys.get(header.path("kid").asText(null));
+        if (key == null) {
+            return null;
+        }
+
+        try {
+            Signature rsa = Signature.getInstance("SHA256withRSA");
+            rsa.initVerify(key);
+            rsa.update((parts[0] + "." + parts[1]).getBytes(StandardCharsets.US_ASCII));
+            if (!rsa.verify(Base64.getUrlDecoder().decode(parts[2]))) {
+                throw new InvalidTokenException("Bad signature");
+            }
+        } catch (InvalidTokenException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new InvalidTokenException("Bad signature");
+        }
+
+        JsonNode claims = decodeJson(parts[1]);
+        Instant now = clock.instant();
+        Instant exp = Instant.ofEpochSecond(claims.path("exp").asLong(0));
+        Instant iat = Instant.ofEpochSecond(claims.path("iat").asLong(0));
+        String sub = claims.path("sub").asText("");
+        if (!projectId.equals(claims.path("aud").asText())
+                || !("https://securetoken.google.com/" + projectId).equals(claims.path("iss").asText())
+                || sub.isEmpty() || sub.length() > 128
+                || exp.plus(CLOCK_SKEW).isBefore(now)
+                || iat.minus(CLOCK_SKEW).isAfter(now)) {
+            throw new InvalidTokenException("Invalid token claims");
+        }
+
+        localVerifications.increment();
+        return new VerifiedToken(sub, claims.path("email").asText(null), exp.plus(CLOCK_SKEW));
+    }
+
+    private VerifiedToken verifyWithSdk(String idToken) throws InvalidTokenException {
+        try {
+            FirebaseToken token = firebaseAuth.verifyIdToken(idToken);
+            sdkVerifications.increment();
+            Object exp = token.getClaims().get("exp");
+            Instant expiresAt = (exp instanceof Number n)
+                    ? Instant.ofEpochSecond(n.longValue()).plus(CLOCK_SKEW)
+                    : clock.instant();
+            return new VerifiedToken(token.getUid(), token.getEmail(), expiresAt);
+        } catch (FirebaseAuthException e) {
+            throw new InvalidTokenException(e.getMessage());
+        }
+    }
+
+    private JsonNode decodeJson(String segment) throws InvalidTokenException {
+        try {
+            return objectMapper.readTree(Base64.getUrlDecoder().decode(segment));
+        } catch (Exception e) {
+            throw new InvalidTokenException("Malformed token");
+        }
+    }
+
+    private static String sha256(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
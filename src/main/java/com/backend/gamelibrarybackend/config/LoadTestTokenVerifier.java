@@ -0,0 +1,49 @@
+package com.backend.gamelibrarybackend.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Offline stand-in for Firebase under the 'loadtest' profile: a bearer token of
+ * {@code loadtest:<uid>} authenticates as {@code <uid>}, anything else is rejected.
+ * There is no signature, so this must never be active on a reachable server.
+ */
+@Component
+@Profile("loadtest")
+public class LoadTestTokenVerifier implements TokenVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestTokenVerifier.class);
+    private static final String PREFIX = "loadtest:";
+
+    private final LongAdder verified = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    @PostConstruct
+    void warn() {
+        log.warn("loadtest profile: /admin accepts unsigned 'Bearer {}<uid>' tokens. Do not expose this instance.", PREFIX);
+    }
+
+    @Override
+    public VerifiedToken verify(String idToken) throws InvalidTokenException {
+        if (idToken == null || !idToken.startsWith(PREFIX) || idToken.length() == PREFIX.length()
+                || idToken.length() > PREFIX.length() + 128) {
+            rejected.increment();
+            throw new InvalidTokenException("Not a loadtest token");
+        }
+        verified.increment();
+        String uid = idToken.substring(PREFIX.length());
+        return new VerifiedToken(uid, uid + "@loadtest.local", Instant.MAX);
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        return Map.of("mode", "loadtest", "verified", verified.sum(), "rejected", rejected.sum());
+    }
+}
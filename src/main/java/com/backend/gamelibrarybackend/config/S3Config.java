@@ -8,9 +8,13 @@ import org.springframework.util.StringUtils;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.S3ClientBuilder;
 import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.multipart.MultipartConfiguration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
 import java.net.URI;
 
@@ -31,6 +35,15 @@ public class S3Config {
     @Value("${storage.s3.endpoint:}")
     private String endpoint;
 
+    @Value("${storage.s3.multipart.threshold-bytes:8388608}")
+    private long multipartThreshold;
+
+    @Value("${storage.s3.multipart.part-size-bytes:5242880}")
+    private long multipartPartSize;
+
+    @Value("${storage.s3.multipart.buffer-bytes:20971520}")
+    private long multipartBuffer;
+
     @Bean
     public S3Client s3Client() {
         S3ClientBuilder builder = S3Client.builder()
@@ -44,4 +57,44 @@ public class S3Config {
 
         return builder.build();
     }
+
+    /**
+     * Client for large uploads: objects at or above the threshold are sent as a multipart
+     * upload whose parts go up concurrently. At most buffer-bytes of the body are held in
+     * memory at once, which also bounds how many parts are in flight.
+     */
+    @Bean
+    public S3AsyncClient s3AsyncClient() {
+        S3AsyncClientBuilder builder = S3AsyncClient.builder()
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey)))
+                .region(Region.of(region))
+                .forcePathStyle(true)
+                .multipartEnabled(true)
+                .multipartConfiguration(MultipartConfiguration.builder()
+                        .thresholdInBytes(multipartThreshold)
+                        .minimumPartSizeInBytes(multipartPartSize)
+                        .apiCallBufferSizeInBytes(multipartBuffer)
+                        .build());
+
+        if (StringUtils.hasText(endpoint)) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+
+        return builder.build();
+    }
+
+    /** Signs the PUT URLs handed to browsers for direct uploads (DirectUploadService). */
+    @Bean
+    public S3Presigner s3Presigner() {
+        S3Presigner.Builder builder = S3Presigner.builder()
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey)))
+                .region(Region.of(region))
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build());
+
+        if (StringUtils.hasText(endpoint)) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+
+        return builder.build();
+    }
 }
@@ -0,0 +1,131 @@
+package com.backend.gamelibrarybackend.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * SQLite in WAL mode with two pools behind one DataSource:
+ *
+ *   writer  exactly one connection. SQLite only ever allows one writer, so a single
+ *           connection serializes writes without "database is locked" retries.
+ *   reader  several connections with {@code PRAGMA query_only}. Under WAL, readers
+ *           see the last committed snapshot and never block the writer or each other.
+ *
+ * {@link LazyConnectionDataSourceProxy} picks the pool when the first statement runs,
+ * after Spring has marked the connection read-only, so every
+ * {@code @Transactional(readOnly = true)} path (GameQueryService, repository finders)
+ * goes to the reader pool and everything else to the writer.
+ *
+ * With app.datasource.bulkhead.enabled (on by default when spring.threads.virtual.enabled
+ * is) each pool sits behind a {@link BulkheadDataSource}, so thousands of parked
+ * virtual-thread requests queue fairly for a permit instead of inside Hikari.
+ *
+ * Active only for jdbc:sqlite: URLs; the one-off MySQL migration keeps Boot's default pool.
+ */
+@Configuration
+@ConditionalOnExpression("'${spring.datasource.url:}'.startsWith('jdbc:sqlite:')")
+public class SqliteDataSourceConfig {
+
+    @Value("${app.datasource.read-pool-size:4}")
+    private int readPoolSize;
+
+    @Value("${app.datasource.busy-timeout-ms:5000}")
+    private int busyTimeoutMs;
+
+    @Value("${app.datasource.bulkhead.enabled:${spring.threads.virtual.enabled:false}}")
+    private boolean bulkheadEnabled;
+
+    @Value("${app.datasource.bulkhead.timeout-ms:30000}")
+    private long bulkheadTimeoutMs;
+
+    @Bean(defaultCandidate = false)
+    public HikariDataSource sqliteWriterDataSource(DataSourceProperties properties, Environment environment,
+                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariConfig config = baseConfig(properties, environment, meterRegistry, "sqlite-writer");
+        config.setMaximumPoolSize(1);
+        config.setMinimumIdle(1);
+        // Persistent for the database file; set on the writer because it connects first.
+        config.addDataSourceProperty("journal_mode", "WAL");
+        return new HikariDataSource(config);
+    }
+
+    @Bean(defaultCandidate = false)
+    @DependsOn("sqliteWriterDataSource")
+    public HikariDataSource sqliteReaderDataSource(DataSourceProperties properties, Environment environment,
+                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariConfig config = baseConfig(properties, environment, meterRegistry, "sqlite-reader");
+        config.setMaximumPoolSize(Math.max(1, readPoolSize));
+        config.setMinimumIdle(1);
+        // sqlite-jdbc cannot flip Connection.setReadOnly on an open connection; this
+        // pragma gives the same guarantee at the SQLite level.
+        config.setConnectionInitSql("PRAGMA query_only = 1");
+        return new HikariDataSource(config);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("sqliteWriterDataSource") HikariDataSource writer,
+                                 @Qualifier("sqliteReaderDataSource") HikariDataSource reader,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(bulkhead(writer, meterRegistry));
+        routing.setReadOnlyDataSource(bulkhead(reader, meterRegistry));
+        return routing;
+    }
+
+    // Permits match the pool size so a permit holder always finds a free connection.
+    // db.bulkhead.waiting is the queue in front of each pool.
+    private DataSource bulkhead(HikariDataSource pool, ObjectProvider<MeterRegistry> meterRegistry) {
+        if (!bulkheadEnabled) {
+            return pool;
+        }
+        BulkheadDataSource bulkhead = new BulkheadDataSource(
+                pool, pool.getPoolName(), pool.getMaximumPoolSize(), bulkheadTimeoutMs);
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("db.bulkhead.waiting", bulkhead, BulkheadDataSource::waiting)
+                    .tag("pool", pool.getPoolName())
+                    .register(registry);
+            Gauge.builder("db.bulkhead.available", bulkhead, BulkheadDataSource::available)
+                    .tag("pool", pool.getPoolName())
+                    .register(registry);
+        });
+        return bulkhead;
+    }
+
+    // Starts from the existing spring.datasource.* / spring.datasource.hikari.* settings
+    // (timeouts, lifetimes) so both pools honour them; pool sizes are set per pool.
+    // Boot only instruments pools it can see as DataSource candidates, so both pools
+    // register their hikaricp.* meters (acquire = time spent waiting for a connection)
+    // here, tagged pool=sqlite-writer / sqlite-reader.
+    private HikariConfig baseConfig(DataSourceProperties properties, Environment environment,
+                                    ObjectProvider<MeterRegistry> meterRegistry, String poolName) {
+        HikariConfig config = new HikariConfig();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(config));
+        config.setPoolName(poolName);
+        config.setJdbcUrl(properties.determineUrl());
+        config.setDriverClassName(properties.determineDriverClassName());
+        config.setUsername(properties.determineUsername());
+        config.setPassword(properties.determinePassword());
+        config.setConnectionInitSql(null);
+        config.addDataSourceProperty("busy_timeout", String.valueOf(busyTimeoutMs));
+        meterRegistry.ifAvailable(registry -> config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return config;
+    }
+}
@@ -0,0 +1,26 @@
+package com.backend.gamelibrarybackend.config;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Turns the bearer token of an /admin request into a user id for
+ * {@link FirebaseAuthFilter}. {@link FirebaseTokenVerifier} is the real one; the
+ * loadtest profile swaps in {@link LoadTestTokenVerifier}.
+ */
+public interface TokenVerifier {
+
+    VerifiedToken verify(String idToken) throws InvalidTokenException;
+
+    /** Counters for /health/auth. */
+    Map<String, Object> stats();
+
+    record VerifiedToken(String uid, String email, Instant expiresAt) {
+    }
+
+    class InvalidTokenException extends Exception {
+        public InvalidTokenException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.backend.gamelibrarybackend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Watches JFR's jdk.VirtualThreadPinned events while request handling runs on virtual
+ * threads. A pinned virtual thread blocked for longer than threshold-ms keeps its
+ * carrier, and with only a few carriers that stalls unrelated requests.
+ *
+ * Each event is counted against the innermost frame from this application (or the
+ * top frame when none is ours), logged once per site, and timed as jvm.threads.virtual.pinned.
+ * Counts per site are at /health/threads.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.backend.gamelibrarybackend.";
+    private static final int MAX_SITES = 200;
+
+    private final Duration threshold;
+    private final Timer pinned;
+    private final LongAdder events = new LongAdder();
+    private final Map<String, LongAdder> sites = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${app.virtual-threads.pinned-threshold-ms:20}") long thresholdMs) {
+        this.threshold = Duration.ofMillis(thresholdMs);
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        try {
+            stream = new RecordingStream();
+            stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+            stream.onEvent(EVENT, this::onPinned);
+            stream.startAsync();
+        } catch (RuntimeException e) {
+            // JFR can be unavailable (e.g. a minimal runtime image); the app runs without it.
+            log.warn("Virtual-thread pinning monitor disabled: {}", e.toString());
+            stream = null;
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        events.increment();
+        pinned.record(event.getDuration());
+        String site = site(event.getStackTrace());
+        LongAdder count = sites.get(site);
+        if (count == null) {
+            if (sites.size() >= MAX_SITES) {
+                site = "other";
+            }
+            count = sites.computeIfAbsent(site, s -> new LongAdder());
+            if (count.sum() == 0) {
+                log.warn("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), site);
+            }
+        }
+        count.increment();
+    }
+
+    private static String site(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(APP_PACKAGE)) {
+                return frameName(frame);
+            }
+        }
+        return frameName(stackTrace.getFrames().get(0));
+    }
+
+    private static String frameName(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Long> bySite = new LinkedHashMap<>();
+        sites.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+                .forEach(e -> bySite.put(e.getKey(), e.getValue().sum()));
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("monitoring", stream != null);
+        stats.put("thresholdMs", threshold.toMillis());
+        stats.put("pinnedEvents", events.sum());
+        stats.put("sites", bySite);
+        return stats;
+    }
+}
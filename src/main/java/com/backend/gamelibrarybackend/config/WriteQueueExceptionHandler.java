@@ -0,0 +1,21 @@
+package com.backend.gamelibrarybackend.config;
+
+import com.backend.gamelibrarybackend.service.GameWriteQueue;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.util.Collections;
+import java.util.Map;
+
+// Writes that do not catch it themselves (delete, note, media) answer 503 as well.
+@ControllerAdvice
+public class WriteQueueExceptionHandler {
+
+    @ExceptionHandler(GameWriteQueue.WriteTimeoutException.class)
+    public ResponseEntity<Map<String, String>> handleWriteTimeout(GameWriteQueue.WriteTimeoutException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Collections.singletonMap("message", "Server is busy, please retry."));
+    }
+}
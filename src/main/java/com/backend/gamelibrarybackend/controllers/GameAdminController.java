@@ -1,26 +1,59 @@
 package com.backend.gamelibrarybackend.controllers;
 
+import com.backend.gamelibrarybackend.dto.CursorPage;
+import com.backend.gamelibrarybackend.dto.GameBatchDTO;
+import com.backend.gamelibrarybackend.dto.GameCursor;
+import com.backend.gamelibrarybackend.dto.GameFields;
 import com.backend.gamelibrarybackend.dto.GameItemDTO;
 import com.backend.gamelibrarybackend.dto.GameItemUpdateDTO;
+import com.backend.gamelibrarybackend.dto.GameListItemDTO;
+import com.backend.gamelibrarybackend.dto.MediaConfirmDTO;
 import com.backend.gamelibrarybackend.dto.MediaDeleteDTO;
+import com.backend.gamelibrarybackend.dto.MediaPresignDTO;
 import com.backend.gamelibrarybackend.dto.NoteDTO;
+import com.backend.gamelibrarybackend.dto.SearchCursor;
+import com.backend.gamelibrarybackend.events.GameChangeEvent;
+import com.backend.gamelibrarybackend.events.GameSnapshot;
 import com.backend.gamelibrarybackend.models.GameItemEntity;
 import com.backend.gamelibrarybackend.repository.GameItemRepository;
+import com.backend.gamelibrarybackend.service.DirectUploadService;
 import com.backend.gamelibrarybackend.service.FirebaseStorageService;
+import com.backend.gamelibrarybackend.service.GameBatchService;
+import com.backend.gamelibrarybackend.service.GameChangeLogService;
+import com.backend.gamelibrarybackend.service.GameExportService;
+import com.backend.gamelibrarybackend.service.GameImportService;
+import com.backend.gamelibrarybackend.service.GameQueryService;
+import com.backend.gamelibrarybackend.service.GameSearchService;
+import com.backend.gamelibrarybackend.service.GameStatsService;
+import com.backend.gamelibrarybackend.service.GameWriteQueue;
+import com.backend.gamelibrarybackend.service.LibraryVersionService;
+import com.backend.gamelibrarybackend.service.ListResponseCache;
 import com.backend.gamelibrarybackend.service.LocalStorageService;
+import com.backend.gamelibrarybackend.service.MediaStorage;
+import com.backend.gamelibrarybackend.service.MediaUploadService;
 import com.backend.gamelibrarybackend.service.S3StorageService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.Hibernate;
 import org.springframework.dao.DataIntegrityViolationException;
 import io.swagger.v3.oas.annotations.Operation;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Collections;
 import java.util.List;
@@ -44,6 +77,52 @@ public class GameAdminController {
     @Autowired(required = false)
     private LocalStorageService localStorageService;
 
+    @Autowired(required = false)
+    private DirectUploadService directUploadService;
+
+    @Autowired
+    private GameQueryService gameQueryService;
+
+    @Autowired
+    private GameWriteQueue gameWriteQueue;
+
+    @Autowired
+    private GameImportService gameImportService;
+
+    @Autowired
+    private GameExportService gameExportService;
+
+    @Autowired
+    private GameBatchService gameBatchService;
+
+    @Autowired
+    private GameStatsService gameStatsService;
+
+    @Autowired
+    private GameChangeLogService gameChangeLogService;
+
+    @Autowired(required = false)
+    private GameSearchService gameSearchService;
+
+    @Autowired
+    private ListResponseCache listResponseCache;
+
+    @Autowired
+    private LibraryVersionService libraryVersionService;
+
+    @Autowired
+    private MediaUploadService mediaUploadService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int DEFAULT_SEARCH_PAGE_SIZE = 20;
+
     @PostMapping("/addGameItem")
     @Operation(
             summary = "Add a new game",
@@ -61,28 +140,37 @@ public class GameAdminController {
                     .body(Collections.singletonMap("message", "Game already exists for this year."));
         }
 
-        GameItemEntity newItem = new GameItemEntity(
-                gameItemDTO.getName(),
-                gameItemDTO.getYear(),
-                gameItemDTO.getCompletedYear(),
-                gameItemDTO.isCompleted(),
-                gameItemDTO.isHundredPercent(),
-                gameItemDTO.isFavourite(),
-                gameItemDTO.getSpecialDescription(),
-                gameItemDTO.getImageUrl(),
-                userId
-        );
-
-        // If marked completed and no completedYear provided, backfill with the game's year.
-        if (newItem.isCompleted() && newItem.getCompletedYear() == 0) {
-            newItem.setCompletedYear(newItem.getYear());
-        }
-
+        Long newId;
         try {
-            gameItemRepository.save(newItem);
+            // Built inside the unit: if its commit group is retried, a fresh entity is persisted.
+            newId = gameWriteQueue.execute(() -> {
+                GameItemEntity newItem = new GameItemEntity(
+                        gameItemDTO.getName(),
+                        gameItemDTO.getYear(),
+                        gameItemDTO.getCompletedYear(),
+                        gameItemDTO.isCompleted(),
+                        gameItemDTO.isHundredPercent(),
+                        gameItemDTO.isFavourite(),
+                        gameItemDTO.getSpecialDescription(),
+                        gameItemDTO.getImageUrl(),
+                        userId
+                );
+
+                // If marked completed and no completedYear provided, backfill with the game's year.
+                if (newItem.isCompleted() && newItem.getCompletedYear() == 0) {
+                    newItem.setCompletedYear(newItem.getYear());
+                }
+
+                GameItemEntity saved = gameItemRepository.save(newItem);
+                eventPublisher.publishEvent(GameChangeEvent.created(GameSnapshot.of(saved)));
+                return saved.getId();
+            });
         } catch (DataIntegrityViolationException ex) {
             return ResponseEntity.status(HttpStatus.CONFLICT)
                     .body(Collections.singletonMap("message", "Game already exists for this year."));
+        } catch (GameWriteQueue.WriteTimeoutException ex) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Collections.singletonMap("message", "Server is busy, please retry."));
         } catch (Exception ex) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Collections.singletonMap("message", "Unexpected error saving game."));
@@ -90,67 +178,306 @@ public class GameAdminController {
 
         Map<String, Object> response = new HashMap<>();
         response.put("message", "Game saved successfully.");
-        response.put("id", newItem.getId());
+        response.put("id", newId);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping(value = "/games/import", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    @Operation(
+            summary = "Bulk import games",
+            description = "Streams a JSON array or NDJSON of games into the caller's library. Games that already exist (same name and year) are skipped."
+    )
+    public ResponseEntity<?> importGames(HttpServletRequest request, @RequestAttribute("firebaseUid") String userId) {
+        try {
+            GameImportService.ImportResult result = gameImportService.importGames(request.getInputStream(), userId);
+            return ResponseEntity.ok(importSummary("Import complete.", result));
+        } catch (GameImportService.ImportFormatException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(importSummary("Malformed import file: " + ex.getMessage(), ex.getPartial()));
+        } catch (IOException ex) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Collections.singletonMap("message", "Import failed: " + ex.getMessage()));
+        }
+    }
+
+    private static Map<String, Object> importSummary(String message, GameImportService.ImportResult result) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", message);
+        response.put("imported", result.getImported());
+        response.put("skipped", result.getSkipped());
+        response.put("invalid", result.getInvalid());
+        return response;
+    }
+
+    @GetMapping(value = "/games/export", produces = "application/x-ndjson")
+    @Operation(
+            summary = "Export games",
+            description = "Streams the caller's whole library as newline-delimited JSON, one game per line."
+    )
+    public void exportGames(HttpServletResponse response, @RequestAttribute("firebaseUid") String userId) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"games-export.ndjson\"");
+        gameExportService.export(userId, response.getOutputStream());
+    }
+
     @GetMapping("/fullGameCount")
     @Operation(summary = "Get total number of games", description = "Returns the total number of game entries currently stored in the database.")
     public Map<String, Long> getFullGameCount(@RequestAttribute("firebaseUid") String userId){
-        long fullGameCount = gameItemRepository.countByUserId(userId);
+        // Served from the materialized user_stats row instead of a COUNT over the library.
+        long fullGameCount = gameStatsService.getTotal(userId);
         return Collections.singletonMap("fullGameCount", fullGameCount );
     }
 
 
 
+    @GetMapping("/stats")
+    @Operation(
+            summary = "Get library statistics",
+            description = "Total, completed, favourite and 100% counts plus completions per year, read from the per-user stats tables."
+    )
+    public Map<String, Object> getStats(@RequestAttribute("firebaseUid") String userId) {
+        return gameStatsService.getStats(userId);
+    }
+
+    @GetMapping("/changes")
+    @Operation(
+            summary = "Get changes since a sync point",
+            description = "Without 'since', returns every game and the sync point to continue from. With 'since', returns the current state of games changed after it and the ids of games deleted after it ('deleted'), plus the next sync point; call again while 'more' is true. 410 means the log was compacted past 'since' and the client must sync again without it."
+    )
+    public ResponseEntity<?> getChanges(@RequestParam(value = "since", required = false) Long since,
+                                        @RequestAttribute("firebaseUid") String userId) {
+        if (since == null) {
+            return ResponseEntity.ok(gameChangeLogService.bootstrap(userId));
+        }
+        if (since < 0) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Collections.singletonMap("message", "since must not be negative."));
+        }
+        try {
+            return ResponseEntity.ok(gameChangeLogService.changesSince(userId, since));
+        } catch (GameChangeLogService.ChangesGoneException ex) {
+            return ResponseEntity.status(HttpStatus.GONE)
+                    .body(Collections.singletonMap("message", ex.getMessage()));
+        }
+    }
+
     @GetMapping("/games/byYear/{year}")
     @Operation(summary = "Get games by completed year")
-    public List<GameItemEntity> getGamesByYear(@PathVariable int year, @RequestAttribute("firebaseUid") String userId) {
-        return gameItemRepository.findCompletedByYearWithFallback(userId, year);
+    public ResponseEntity<?> getGamesByYear(@PathVariable int year,
+                                            @RequestParam(value = "limit", required = false) Integer limit,
+                                            @RequestParam(value = "cursor", required = false) String cursor,
+                                            @RequestParam(value = "fields", required = false) String fields,
+                                            @RequestAttribute("firebaseUid") String userId,
+                                            WebRequest webRequest) {
+        return keysetPage(webRequest, userId, "byYear:" + year, limit, cursor, fields,
+                (createdAt, lastId, rows) -> gameItemRepository.findCompletedByYearPage(userId, year, createdAt, lastId, rows));
     }
 
     @GetMapping("/games/toBeCompleted")
-    public ResponseEntity<?> getToBeCompleted(@RequestAttribute("firebaseUid") String userId) {
-        return ResponseEntity.ok(gameItemRepository.findByUserIdAndIsCompletedFalseOrderByCreatedAtDesc(userId));
+    public ResponseEntity<?> getToBeCompleted(@RequestParam(value = "limit", required = false) Integer limit,
+                                              @RequestParam(value = "cursor", required = false) String cursor,
+                                              @RequestParam(value = "fields", required = false) String fields,
+                                              @RequestAttribute("firebaseUid") String userId,
+                                              WebRequest webRequest) {
+        return keysetPage(webRequest, userId, "toBeCompleted", limit, cursor, fields,
+                (createdAt, lastId, rows) -> gameItemRepository.findToBeCompletedPage(userId, createdAt, lastId, rows));
     }
 
 
     @GetMapping("/getFavouriteGames")
-    public ResponseEntity<?> getFavouriteGames(@RequestAttribute("firebaseUid") String userId) {
-        return ResponseEntity.ok(gameItemRepository.findByUserIdAndIsFavouriteTrueOrderByCreatedAtDesc(userId));
+    public ResponseEntity<?> getFavouriteGames(@RequestParam(value = "limit", required = false) Integer limit,
+                                               @RequestParam(value = "cursor", required = false) String cursor,
+                                               @RequestParam(value = "fields", required = false) String fields,
+                                               @RequestAttribute("firebaseUid") String userId,
+                                               WebRequest webRequest) {
+        return keysetPage(webRequest, userId, "favourites", limit, cursor, fields,
+                (createdAt, lastId, rows) -> gameItemRepository.findFavouritePage(userId, createdAt, lastId, rows));
     }
 
     @GetMapping("/getHundredPercentCompletedGames")
-    public ResponseEntity<?> getHundredPercentGames(@RequestAttribute("firebaseUid") String userId) {
-            return ResponseEntity.ok(gameItemRepository.findByUserIdAndIsHundredPercentTrueOrderByCreatedAtDesc(userId));
+    public ResponseEntity<?> getHundredPercentGames(@RequestParam(value = "limit", required = false) Integer limit,
+                                                    @RequestParam(value = "cursor", required = false) String cursor,
+                                                    @RequestParam(value = "fields", required = false) String fields,
+                                                    @RequestAttribute("firebaseUid") String userId,
+                                                    WebRequest webRequest) {
+        return keysetPage(webRequest, userId, "hundredPercent", limit, cursor, fields,
+                (createdAt, lastId, rows) -> gameItemRepository.findHundredPercentPage(userId, createdAt, lastId, rows));
     }
 
+    @GetMapping("/games/search")
+    @Operation(
+            summary = "Search games",
+            description = "Full-text search over name, special description and note. Every term is matched as a prefix; best matches first."
+    )
+    public ResponseEntity<?> searchGames(@RequestParam("q") String query,
+                                         @RequestParam(value = "limit", required = false) Integer limit,
+                                         @RequestParam(value = "cursor", required = false) String cursor,
+                                         @RequestAttribute("firebaseUid") String userId) {
+        if (gameSearchService == null) {
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED)
+                    .body(Collections.singletonMap("message", "Search is not available for this database."));
+        }
+        if (query.isBlank()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Collections.singletonMap("message", "Search query is required."));
+        }
+        SearchCursor after;
+        try {
+            after = SearchCursor.decode(cursor);
+        } catch (IllegalArgumentException ex) {
+            after = null;
+        }
+        int pageSize = (limit != null) ? limit : DEFAULT_SEARCH_PAGE_SIZE;
+        if (after == null || pageSize <= 0) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Collections.singletonMap("message", "Invalid cursor or limit."));
+        }
+        return ResponseEntity.ok(gameSearchService.search(userId, query, after, Math.min(pageSize, MAX_PAGE_SIZE)));
+    }
+
+    /**
+     * Without limit/cursor the list endpoints keep returning a plain array (what the
+     * frontend expects today). With either one they return a {@link CursorPage}; one
+     * extra row is fetched so we know whether there is a next page without a count query.
+     * Either way the encoded JSON is kept in {@link ListResponseCache} until the user's
+     * library next changes, and a hit is written out as-is.
+     *
+     * The ETag is the user's library version, read before the body is built: a client
+     * that already holds it gets a 304 without any query running. Reading it first
+     * means a body can only ever be labelled with a version at least as old as itself.
+     *
+     * {@code fields=} ({@link GameFields}) trims every game to the named properties and
+     * skips the media queries nothing asked for; it is part of both the cache key and the ETag.
+     */
+    private ResponseEntity<?> keysetPage(WebRequest webRequest, String userId, String list,
+                                         Integer limit, String cursor, String fields, KeysetQuery query) {
+        GameCursor after;
+        try {
+            after = GameCursor.decode(cursor);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Collections.singletonMap("message", "Invalid cursor."));
+        }
+        GameFields only;
+        try {
+            only = GameFields.parse(fields);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Collections.singletonMap("message", ex.getMessage()));
+        }
+        if (limit != null && limit <= 0) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Collections.singletonMap("message", "limit must be positive."));
+        }
+
+        String etag = libraryVersionService.listEtag(libraryVersionService.current(userId), only.key());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        String cacheKey = list + "|" + limit + "|" + cursor + "|" + only.key();
+        byte[] body = listResponseCache.get(userId, cacheKey, () -> {
+            if (limit == null && cursor == null) {
+                return only.project(objectMapper,
+                        gameQueryService.attachMedia(query.fetch(after.createdAt(), after.id(), Limit.unlimited()), only));
+            }
+            int pageSize = Math.min(limit != null ? limit : DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+            List<GameListItemDTO> rows = query.fetch(after.createdAt(), after.id(), Limit.of(pageSize + 1));
+            String next = null;
+            if (rows.size() > pageSize) {
+                rows = rows.subList(0, pageSize);
+                GameListItemDTO last = rows.get(pageSize - 1);
+                next = new GameCursor(last.createdAt(), last.id()).encode();
+            }
+            return only.project(objectMapper, new CursorPage<>(gameQueryService.attachMedia(rows, only), next));
+        });
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @FunctionalInterface
+    private interface KeysetQuery {
+        List<GameListItemDTO> fetch(Instant createdAt, long lastId, Limit limit);
+    }
+
+    /**
+     * ETag "<epoch>-<version>-<id>-<updatedAt>". If the client's tag carries the current
+     * library version nothing has changed and we answer 304 straight away; otherwise the
+     * game is loaded and still answered with 304 when its own id/updatedAt part matches.
+     * With {@code fields=} only the requested collections are loaded, and the subset is
+     * part of the tag.
+     */
     @GetMapping("/games/{id}")
-    @Cacheable(value = "gameDetail", key = "#userId + ':' + #id")
-    public ResponseEntity<?> getGameById(@PathVariable Long id, @RequestAttribute("firebaseUid") String userId) {
-        return gameItemRepository.findByIdAndUserId(id, userId)
-                .<ResponseEntity<?>>map(game -> ResponseEntity.ok(game))
+    public ResponseEntity<?> getGameById(@PathVariable Long id,
+                                         @RequestParam(value = "fields", required = false) String fields,
+                                         @RequestAttribute("firebaseUid") String userId,
+                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        GameFields only;
+        try {
+            only = GameFields.parse(fields);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Collections.singletonMap("message", ex.getMessage()));
+        }
+        long version = libraryVersionService.current(userId);
+        String current = libraryVersionService.currentDetailTag(ifNoneMatch, version, id, only.key());
+        if (current != null) {
+            return notModified(current);
+        }
+        if (!only.isAll()) {
+            return gameQueryService.findDetail(id, userId, only)
+                    .<ResponseEntity<?>>map(game -> detailResponse(ifNoneMatch, version, game.id(), game.updatedAt(),
+                            only, only.project(objectMapper, game)))
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                            .body(Collections.singletonMap("message", "Game not found")));
+        }
+        return gameQueryService.findDetail(id, userId)
+                .<ResponseEntity<?>>map(game -> detailResponse(ifNoneMatch, version, game.getId(), game.getUpdatedAt(),
+                        only, game))
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(Collections.singletonMap("message", "Game not found")));
     }
 
+    private ResponseEntity<?> detailResponse(String ifNoneMatch, long version, Long id, Instant updatedAt,
+                                             GameFields only, Object body) {
+        String etag = libraryVersionService.detailEtag(version, id, updatedAt, only.key());
+        if (libraryVersionService.detailUnchanged(ifNoneMatch, id, updatedAt, only.key())) {
+            return notModified(etag);
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(body);
+    }
+
+    private static ResponseEntity<?> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .build();
+    }
+
     @PostMapping("/uploadImage")
     @CrossOrigin
     public ResponseEntity<?> uploadImage(@RequestParam("image") MultipartFile image, @RequestAttribute("firebaseUid") String userId) {
         try {
             // Prefer local on-disk storage (local profile); then S3; then Firebase.
+            // Resized copies are made in the background once the original is stored.
             if (localStorageService != null) {
-                return ResponseEntity.ok(localStorageService.upload(image, userId));
+                return ResponseEntity.ok(mediaUploadService.uploadImage(localStorageService, image, userId));
             }
             if (s3StorageService != null) {
                 try {
-                    String s3Url = s3StorageService.upload(image, userId);
+                    String s3Url = mediaUploadService.uploadImage(s3StorageService, image, userId);
                     return ResponseEntity.ok(s3Url);
                 } catch (RuntimeException ex) {
                     // Fall back to Firebase storage if S3 fails.
                 }
             }
-            String firebaseUrl = firebaseStorageService.upload(image, userId);
+            String firebaseUrl = mediaUploadService.uploadImage(firebaseStorageService, image, userId);
             return ResponseEntity.ok(firebaseUrl);
         } catch (IOException e) {
             e.printStackTrace();
@@ -164,13 +491,15 @@ public class GameAdminController {
     @DeleteMapping("/games/{id}")
     @CacheEvict(value = "gameDetail", key = "#userId + ':' + #id")
     public ResponseEntity<?> deleteGame(@PathVariable Long id, @RequestAttribute("firebaseUid") String userId) {
-        return gameItemRepository.findByIdAndUserId(id, userId)
+        return gameWriteQueue.execute(() -> gameItemRepository.findByIdAndUserId(id, userId)
                 .map(entity -> {
+                    GameSnapshot before = GameSnapshot.of(entity);
                     gameItemRepository.delete(entity);
+                    eventPublisher.publishEvent(GameChangeEvent.deleted(before));
                     return ResponseEntity.ok(Collections.singletonMap("message", "Deleted"));
                 })
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
-                        .body(Collections.singletonMap("message", "Game not found")));
+                        .body(Collections.singletonMap("message", "Game not found"))));
     }
 
     @PutMapping("/games/{id}")
@@ -179,62 +508,106 @@ public class GameAdminController {
                                         @RequestBody GameItemUpdateDTO payload,
                                         @RequestAttribute("firebaseUid") String userId) {
 
-        return gameItemRepository.findByIdAndUserId(id, userId)
-                .map(entity -> {
-                    if (payload.getName() == null || payload.getName().isBlank() || payload.getYear() == null || payload.getYear() <= 0) {
-                        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                                .body(Collections.singletonMap("message", "Name and year are required."));
-                    }
+        try {
+            // The queued unit spans load, change and flush, so a unique-key clash surfaces
+            // here as DataIntegrityViolationException instead of at an unguarded commit.
+            return gameWriteQueue.execute(() -> gameItemRepository.findByIdAndUserId(id, userId)
+                    .map(entity -> {
+                        if (payload.getName() == null || payload.getName().isBlank() || payload.getYear() == null || payload.getYear() <= 0) {
+                            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                    .body(Collections.singletonMap("message", "Name and year are required."));
+                        }
 
-                    if (gameItemRepository.existsByUserIdAndNameAndYearAndIdNot(userId, payload.getName(), payload.getYear(), id)) {
-                        return ResponseEntity.status(HttpStatus.CONFLICT)
-                                .body(Collections.singletonMap("message", "Game already exists for this year."));
-                    }
+                        if (gameItemRepository.existsByUserIdAndNameAndYearAndIdNot(userId, payload.getName(), payload.getYear(), id)) {
+                            return ResponseEntity.status(HttpStatus.CONFLICT)
+                                    .body(Collections.singletonMap("message", "Game already exists for this year."));
+                        }
 
-                    entity.setName(payload.getName());
-                    entity.setYear(payload.getYear());
-                    if (payload.getIsCompleted() != null) {
-                        entity.setCompleted(payload.getIsCompleted());
-                    }
-                    if (payload.getCompletedYear() != null) {
-                        entity.setCompletedYear(payload.getCompletedYear());
-                    }
-                    // Ensure completedYear is set when marking as completed
-                    if (entity.isCompleted() && entity.getCompletedYear() == 0) {
-                        int fallbackYear = payload.getCompletedYear() != null
-                                ? payload.getCompletedYear()
-                                : (payload.getYear() != null ? payload.getYear() : entity.getYear());
-                        entity.setCompletedYear(fallbackYear);
-                    }
-                    if (payload.getIsHundredPercent() != null) {
-                        entity.setHundredPercent(payload.getIsHundredPercent());
-                    }
-                    if (payload.getIsFavourite() != null) {
-                        entity.setFavourite(payload.getIsFavourite());
-                    }
-                    if (payload.getSpecialDescription() != null) {
-                        entity.setSpecialDescription(payload.getSpecialDescription());
-                    }
-                    if (payload.getImageUrl() != null) {
-                        entity.setImageUrl(payload.getImageUrl());
-                    }
+                        GameSnapshot before = GameSnapshot.of(entity);
+                        applyUpdate(entity, payload);
 
-                    try {
-                        GameItemEntity saved = gameItemRepository.save(entity);
+                        GameItemEntity saved = gameItemRepository.saveAndFlush(entity);
+                        eventPublisher.publishEvent(GameChangeEvent.updated(before, GameSnapshot.of(saved)));
+                        // Loaded now because the response is serialized after the session closes.
+                        Hibernate.initialize(saved.getGallery());
+                        Hibernate.initialize(saved.getVideos());
                         Map<String, Object> response = new HashMap<>();
                         response.put("message", "Game updated successfully.");
                         response.put("item", saved);
                         return ResponseEntity.ok(response);
-                    } catch (DataIntegrityViolationException ex) {
-                        return ResponseEntity.status(HttpStatus.CONFLICT)
-                                .body(Collections.singletonMap("message", "Game already exists for this year."));
-                    } catch (Exception ex) {
-                        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                                .body(Collections.singletonMap("message", "Unexpected error updating game."));
-                    }
-                })
-                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
-                        .body(Collections.singletonMap("message", "Game not found")));
+                    })
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                            .body(Collections.singletonMap("message", "Game not found"))));
+        } catch (DataIntegrityViolationException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Collections.singletonMap("message", "Game already exists for this year."));
+        } catch (GameWriteQueue.WriteTimeoutException ex) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Collections.singletonMap("message", "Server is busy, please retry."));
+        } catch (Exception ex) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Collections.singletonMap("message", "Unexpected error updating game."));
+        }
+    }
+
+    @PatchMapping("/games")
+    @Operation(
+            summary = "Update or delete several games",
+            description = "Applies partial edits ('update', each with an id and only the fields to change) and deletes ('delete', a list of ids) in one transaction. Returns a status per game; one failing item does not stop the others."
+    )
+    public ResponseEntity<?> updateGames(@RequestBody GameBatchDTO payload,
+                                         @RequestAttribute("firebaseUid") String userId) {
+        try {
+            GameBatchService.BatchResult result = gameBatchService.apply(userId, payload);
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", result.getFailed() == 0 ? "Batch applied." : "Batch applied with errors.");
+            response.put("changed", result.getChanged());
+            response.put("failed", result.getFailed());
+            response.put("results", result.getItems());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Collections.singletonMap("message", ex.getMessage()));
+        } catch (DataIntegrityViolationException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Collections.singletonMap("message", "Game already exists for this year."));
+        } catch (GameWriteQueue.WriteTimeoutException ex) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Collections.singletonMap("message", "Server is busy, please retry."));
+        } catch (Exception ex) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Collections.singletonMap("message", "Unexpected error updating games."));
+        }
+    }
+
+    private static void applyUpdate(GameItemEntity entity, GameItemUpdateDTO payload) {
+        entity.setName(payload.getName());
+        entity.setYear(payload.getYear());
+        if (payload.getIsCompleted() != null) {
+            entity.setCompleted(payload.getIsCompleted());
+        }
+        if (payload.getCompletedYear() != null) {
+            entity.setCompletedYear(payload.getCompletedYear());
+        }
+        // Ensure completedYear is set when marking as completed
+        if (entity.isCompleted() && entity.getCompletedYear() == 0) {
+            int fallbackYear = payload.getCompletedYear() != null
+                    ? payload.getCompletedYear()
+                    : (payload.getYear() != null ? payload.getYear() : entity.getYear());
+            entity.setCompletedYear(fallbackYear);
+        }
+        if (payload.getIsHundredPercent() != null) {
+            entity.setHundredPercent(payload.getIsHundredPercent());
+        }
+        if (payload.getIsFavourite() != null) {
+            entity.setFavourite(payload.getIsFavourite());
+        }
+        if (payload.getSpecialDescription() != null) {
+            entity.setSpecialDescription(payload.getSpecialDescription());
+        }
+        if (payload.getImageUrl() != null) {
+            entity.setImageUrl(payload.getImageUrl());
+        }
     }
 
     @PutMapping("/games/{id}/note")
@@ -242,17 +615,18 @@ public class GameAdminController {
     public ResponseEntity<?> updateNote(@PathVariable Long id,
                                         @RequestBody NoteDTO payload,
                                         @RequestAttribute("firebaseUid") String userId) {
-        return gameItemRepository.findByIdAndUserId(id, userId)
+        return gameWriteQueue.execute(() -> gameItemRepository.findByIdAndUserId(id, userId)
                 .map(entity -> {
                     entity.setNote(payload.getNote());
                     gameItemRepository.save(entity);
+                    eventPublisher.publishEvent(GameChangeEvent.note(GameSnapshot.of(entity)));
                     Map<String, Object> response = new HashMap<>();
                     response.put("message", "Note updated");
                     response.put("note", entity.getNote());
                     return ResponseEntity.ok(response);
                 })
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
-                        .body(Collections.singletonMap("message", "Game not found")));
+                        .body(Collections.singletonMap("message", "Game not found"))));
     }
 
     @PostMapping("/games/{id}/media")
@@ -269,39 +643,101 @@ public class GameAdminController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(Collections.singletonMap("message", "Invalid media type."));
         }
+        if (!gameItemRepository.existsByIdAndUserId(id, userId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Collections.singletonMap("message", "Game not found"));
+        }
 
-        return gameItemRepository.findByIdAndUserId(id, userId)
-                .map(entity -> {
-                    List<String> urls = new ArrayList<>();
-                    for (MultipartFile file : files) {
-                        try {
-                            if (localStorageService != null) {
-                                urls.add(localStorageService.upload(file, userId));
-                            } else if (s3StorageService != null) {
-                                urls.add(s3StorageService.upload(file, userId));
-                            } else {
-                                urls.add(firebaseStorageService.upload(file, userId));
-                            }
-                        } catch (Exception ex) {
-                            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                                    .body(Collections.singletonMap("message", "Failed to upload media."));
-                        }
-                    }
+        // Upload before opening the transaction so slow storage never holds the DB connection.
+        // Files go up in parallel; if one fails, the batch's new objects are removed.
+        MediaStorage storage = localStorageService != null ? localStorageService
+                : s3StorageService != null ? s3StorageService
+                : firebaseStorageService;
+        List<String> urls;
+        try {
+            urls = mediaUploadService.uploadAll(storage, files, userId, "image".equalsIgnoreCase(type));
+        } catch (Exception ex) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Collections.singletonMap("message", "Failed to upload media."));
+        }
 
-                    if ("image".equalsIgnoreCase(type)) {
-                        entity.getGallery().addAll(urls);
-                    } else {
-                        entity.getVideos().addAll(urls);
+        return attachMedia(id, userId, type, urls);
+    }
+
+    @PostMapping("/games/{id}/media/presign")
+    @Operation(
+            summary = "Presign a direct media upload",
+            description = "Returns a short-lived PUT URL for sending one image or video straight to the S3 bucket. Call /media/confirm afterwards to attach it."
+    )
+    public ResponseEntity<?> presignMedia(@PathVariable Long id,
+                                          @RequestBody MediaPresignDTO payload,
+                                          @RequestAttribute("firebaseUid") String userId) {
+        if (directUploadService == null) {
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED)
+                    .body(Collections.singletonMap("message", "Direct uploads need S3 storage."));
+        }
+        if (!gameItemRepository.existsByIdAndUserId(id, userId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Collections.singletonMap("message", "Game not found"));
+        }
+        try {
+            return ResponseEntity.ok(directUploadService.presign(userId, payload.getType(),
+                    payload.getContentType(), payload.getSize()));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Collections.singletonMap("message", ex.getMessage()));
+        }
+    }
+
+    @PostMapping("/games/{id}/media/confirm")
+    @CacheEvict(value = "gameDetail", key = "#userId + ':' + #id")
+    @Operation(summary = "Attach a directly uploaded object to a game")
+    public ResponseEntity<?> confirmMedia(@PathVariable Long id,
+                                          @RequestBody MediaConfirmDTO payload,
+                                          @RequestAttribute("firebaseUid") String userId) {
+        if (directUploadService == null) {
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED)
+                    .body(Collections.singletonMap("message", "Direct uploads need S3 storage."));
+        }
+        if (!gameItemRepository.existsByIdAndUserId(id, userId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Collections.singletonMap("message", "Game not found"));
+        }
+        String url;
+        try {
+            url = directUploadService.confirm(userId, payload.getType(), payload.getKey());
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Collections.singletonMap("message", ex.getMessage()));
+        } catch (RuntimeException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+                    .body(Collections.singletonMap("message", "Could not check the upload."));
+        }
+        return attachMedia(id, userId, payload.getType(), List.of(url));
+    }
+
+    private ResponseEntity<?> attachMedia(Long id, String userId, String type, List<String> urls) {
+        return gameWriteQueue.execute(() -> gameItemRepository.findByIdAndUserId(id, userId)
+                .map(entity -> {
+                    List<String> target = "image".equalsIgnoreCase(type) ? entity.getGallery() : entity.getVideos();
+                    // A repeated confirm (e.g. a retry after a 503) must not attach the same URL twice.
+                    List<String> added = urls.stream().distinct().filter(url -> !target.contains(url)).toList();
+                    GameItemEntity saved = entity;
+                    if (!added.isEmpty()) {
+                        target.addAll(added);
+                        // Collection-only changes don't fire @PreUpdate; the detail ETag relies on updatedAt moving.
+                        entity.setUpdatedAt(Instant.now());
+                        saved = gameItemRepository.save(entity);
+                        eventPublisher.publishEvent(GameChangeEvent.media(GameSnapshot.of(saved)));
                     }
-                    GameItemEntity saved = gameItemRepository.save(entity);
                     Map<String, Object> response = new HashMap<>();
                     response.put("message", "Media uploaded");
-                    response.put("gallery", saved.getGallery());
-                    response.put("videos", saved.getVideos());
+                    response.put("gallery", new ArrayList<>(saved.getGallery()));
+                    response.put("videos", new ArrayList<>(saved.getVideos()));
                     return ResponseEntity.ok(response);
                 })
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
-                        .body(Collections.singletonMap("message", "Game not found")));
+                        .body(Collections.singletonMap("message", "Game not found"))));
     }
 
     @DeleteMapping("/games/{id}/media")
@@ -318,7 +754,7 @@ public class GameAdminController {
                     .body(Collections.singletonMap("message", "Invalid media type."));
         }
 
-        return gameItemRepository.findByIdAndUserId(id, userId)
+        return gameWriteQueue.execute(() -> gameItemRepository.findByIdAndUserId(id, userId)
                 .map(entity -> {
                     boolean removed;
                     if ("image".equalsIgnoreCase(payload.getType())) {
@@ -330,15 +766,18 @@ public class GameAdminController {
                         return ResponseEntity.status(HttpStatus.NOT_FOUND)
                                 .body(Collections.singletonMap("message", "Media not found on this game."));
                     }
+                    // Collection-only changes don't fire @PreUpdate; the detail ETag relies on updatedAt moving.
+                    entity.setUpdatedAt(Instant.now());
                     GameItemEntity saved = gameItemRepository.save(entity);
+                    eventPublisher.publishEvent(GameChangeEvent.media(GameSnapshot.of(saved)));
                     Map<String, Object> response = new HashMap<>();
                     response.put("message", "Media deleted");
-                    response.put("gallery", saved.getGallery());
-                    response.put("videos", saved.getVideos());
+                    response.put("gallery", new ArrayList<>(saved.getGallery()));
+                    response.put("videos", new ArrayList<>(saved.getVideos()));
                     return ResponseEntity.ok(response);
                 })
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
-                        .body(Collections.singletonMap("message", "Game not found")));
+                        .body(Collections.singletonMap("message", "Game not found"))));
     }
 
 }
@@ -1,5 +1,7 @@
 package com.backend.gamelibrarybackend.controllers;
 
+import com.backend.gamelibrarybackend.config.TokenVerifier;
+import com.backend.gamelibrarybackend.config.VirtualThreadPinningMonitor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +20,12 @@ public class HealthController {
     @Autowired(required = false)
     private DataSource dataSource;
 
+    @Autowired(required = false)
+    private TokenVerifier tokenVerifier;
+
+    @Autowired(required = false)
+    private VirtualThreadPinningMonitor pinningMonitor;
+
     @GetMapping("/health")
     public Map<String, String> health() {
         return Collections.singletonMap("status", "ok");
@@ -43,4 +51,24 @@ public class HealthController {
             return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(body);
         }
     }
+
+    @GetMapping("/health/auth")
+    public ResponseEntity<Map<String, Object>> healthAuth() {
+        if (tokenVerifier == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Collections.singletonMap("reason", "no token verifier"));
+        }
+        // Token-cache hit/miss counters and how many misses were verified locally.
+        return ResponseEntity.ok(tokenVerifier.stats());
+    }
+
+    @GetMapping("/health/threads")
+    public ResponseEntity<Map<String, Object>> healthThreads() {
+        if (pinningMonitor == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Collections.singletonMap("reason", "virtual threads are not enabled"));
+        }
+        // Pinned virtual threads per code site, most frequent first.
+        return ResponseEntity.ok(pinningMonitor.stats());
+    }
 }
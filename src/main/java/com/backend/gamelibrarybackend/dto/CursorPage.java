@@ -0,0 +1,10 @@
+package com.backend.gamelibrarybackend.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list. {@code next} is null on the last page;
+ * otherwise pass it back as the {@code cursor} request parameter.
+ */
+public record CursorPage<T>(List<T> items, String next) {
+}
@@ -0,0 +1,16 @@
+package com.backend.gamelibrarybackend.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class GameBatchDTO {
+    private List<GameBatchEditDTO> update = new ArrayList<>();
+    private List<Long> delete = new ArrayList<>();
+}
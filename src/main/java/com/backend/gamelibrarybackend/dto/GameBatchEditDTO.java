@@ -0,0 +1,13 @@
+package com.backend.gamelibrarybackend.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// One edit in PATCH /admin/games: the game id plus only the fields to change.
+@Getter
+@Setter
+@NoArgsConstructor
+public class GameBatchEditDTO extends GameItemUpdateDTO {
+    private Long id;
+}
@@ -0,0 +1,98 @@
+package com.backend.gamelibrarybackend.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * The {@code fields=} request parameter of the list and detail endpoints: a
+ * comma-separated subset of the game's JSON properties (e.g.
+ * {@code fields=name,year,favourite,imageUrl}). {@code id} is always returned.
+ *
+ * Besides trimming the JSON, it tells the read path which collections it can skip
+ * loading. {@link #key()} is the canonical form (sorted, dot-separated) that goes into
+ * the list cache key and the ETag, so differently shaped bodies never share either.
+ */
+public final class GameFields {
+
+    public static final GameFields ALL = new GameFields(null);
+
+    private static final Set<String> KNOWN = Arrays.stream(GameListItemDTO.class.getRecordComponents())
+            .map(RecordComponent::getName)
+            .collect(Collectors.toUnmodifiableSet());
+
+    private final Set<String> names;
+
+    private GameFields(Set<String> names) {
+        this.names = names;
+    }
+
+    /** @throws IllegalArgumentException naming the first unknown field */
+    public static GameFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> names = new TreeSet<>();
+        names.add("id");
+        for (String raw : fields.split(",")) {
+            String name = raw.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!KNOWN.contains(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+            names.add(name);
+        }
+        return new GameFields(names);
+    }
+
+    public boolean isAll() {
+        return names == null;
+    }
+
+    public boolean includes(String name) {
+        return names == null || names.contains(name);
+    }
+
+    public boolean needsGallery() {
+        return includes("gallery") || includes("galleryVariants");
+    }
+
+    public boolean needsVideos() {
+        return includes("videos");
+    }
+
+    public boolean needsVariants() {
+        return includes("imageVariants") || includes("galleryVariants");
+    }
+
+    /** Empty for all fields, else the sorted names joined by '.' (safe inside an ETag). */
+    public String key() {
+        return names == null ? "" : String.join(".", names);
+    }
+
+    /**
+     * The body with every game object cut down to these fields: a single game, a list
+     * of games or a {@link CursorPage}. Returned unchanged when all fields are wanted.
+     */
+    public Object project(ObjectMapper objectMapper, Object body) {
+        if (names == null) {
+            return body;
+        }
+        JsonNode tree = objectMapper.valueToTree(body);
+        JsonNode games = tree.has("items") && tree.has("next") ? tree.get("items") : tree;
+        if (games.isArray()) {
+            games.forEach(game -> ((ObjectNode) game).retain(names));
+        } else if (games.isObject()) {
+            ((ObjectNode) games).retain(names);
+        }
+        return tree;
+    }
+}
@@ -0,0 +1,33 @@
+package com.backend.gamelibrarybackend.dto;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only list view of a game, selected with a JPQL constructor expression so no
+ * entity (and no lazy collection proxy) is ever materialized for list endpoints.
+ * Component names mirror the JSON Jackson produces for {@code GameItemEntity}, so
+ * the wire format of the list endpoints is unchanged.
+ */
+public record GameListItemDTO(
+        Long id, String name, int year, int completedYear,
+        boolean completed, boolean hundredPercent, boolean favourite,
+        String specialDescription, String imageUrl, String userId, String note,
+        List<String> gallery, List<String> videos,
+        Map<Integer, String> imageVariants, Map<String, Map<Integer, String>> galleryVariants,
+        Instant createdAt, Instant updatedAt) {
+
+    /** Used by the repository projections; media is attached afterwards in one batch. */
+    public GameListItemDTO(Long id, String name, int year, int completedYear,
+                           boolean completed, boolean hundredPercent, boolean favourite,
+                           String specialDescription, String imageUrl, String userId, String note,
+                           Instant createdAt, Instant updatedAt) {
+        this(id, name, year, completedYear, completed, hundredPercent, favourite,
+                specialDescription, imageUrl, userId, note,
+                new ArrayList<>(), new ArrayList<>(), new LinkedHashMap<>(), new LinkedHashMap<>(),
+                createdAt, updatedAt);
+    }
+}
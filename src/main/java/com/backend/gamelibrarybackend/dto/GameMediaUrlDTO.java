@@ -0,0 +1,5 @@
+package com.backend.gamelibrarybackend.dto;
+
+/** One gallery or video URL together with the game it belongs to. */
+public record GameMediaUrlDTO(Long gameId, String url) {
+}
@@ -0,0 +1,13 @@
+package com.backend.gamelibrarybackend.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class MediaConfirmDTO {
+    private String type; // "image" or "video"
+    private String key;  // as returned by the presign call
+}
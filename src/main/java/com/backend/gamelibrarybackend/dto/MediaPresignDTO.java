@@ -0,0 +1,15 @@
+package com.backend.gamelibrarybackend.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class MediaPresignDTO {
+    private String type; // "image" or "video"
+    private String contentType;
+    private Long size; // bytes
+    private String fileName; // accepted but unused: the key's extension follows contentType
+}
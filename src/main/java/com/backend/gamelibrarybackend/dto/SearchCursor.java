@@ -0,0 +1,40 @@
+package com.backend.gamelibrarybackend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a search result ordered by (bm25 score ASC, id ASC): the score and id
+ * of the last game on the previous page. The score travels as its exact bit pattern
+ * so the next page's comparison sees the same double SQLite returned.
+ */
+public record SearchCursor(double score, long id) {
+
+    /** Sorts before every real hit (bm25 scores are finite). */
+    public static final SearchCursor START = new SearchCursor(-Double.MAX_VALUE, 0);
+
+    public static SearchCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\.");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            double score = Double.longBitsToDouble(Long.parseUnsignedLong(parts[0], 16));
+            if (!Double.isFinite(score)) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new SearchCursor(score, Long.parseLong(parts[1]));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Malformed cursor", ex);
+        }
+    }
+
+    public String encode() {
+        String raw = Long.toHexString(Double.doubleToLongBits(score)) + "." + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
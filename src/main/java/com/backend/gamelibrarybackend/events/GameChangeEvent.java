@@ -0,0 +1,34 @@
+package com.backend.gamelibrarybackend.events;
+
+/**
+ * Published inside the write transaction for every game mutation. Plain
+ * {@code @EventListener}s run in that same transaction (so derived tables commit or
+ * roll back with the change); {@code @TransactionalEventListener}s see it only once
+ * it is committed.
+ *
+ * {@code before} is null for CREATED, {@code after} is null for DELETED.
+ */
+public record GameChangeEvent(String userId, Long gameId, Type type, GameSnapshot before, GameSnapshot after) {
+
+    public enum Type { CREATED, UPDATED, NOTE, MEDIA, DELETED }
+
+    public static GameChangeEvent created(GameSnapshot after) {
+        return new GameChangeEvent(after.userId(), after.id(), Type.CREATED, null, after);
+    }
+
+    public static GameChangeEvent updated(GameSnapshot before, GameSnapshot after) {
+        return new GameChangeEvent(after.userId(), after.id(), Type.UPDATED, before, after);
+    }
+
+    public static GameChangeEvent note(GameSnapshot game) {
+        return new GameChangeEvent(game.userId(), game.id(), Type.NOTE, game, game);
+    }
+
+    public static GameChangeEvent media(GameSnapshot game) {
+        return new GameChangeEvent(game.userId(), game.id(), Type.MEDIA, game, game);
+    }
+
+    public static GameChangeEvent deleted(GameSnapshot before) {
+        return new GameChangeEvent(before.userId(), before.id(), Type.DELETED, before, null);
+    }
+}
@@ -0,0 +1,25 @@
+package com.backend.gamelibrarybackend.events;
+
+import com.backend.gamelibrarybackend.models.GameItemEntity;
+
+/**
+ * The fields of a game that derived data (stats, indexes, caches) depends on, copied
+ * out of the entity so "before" survives the entity being modified or deleted.
+ */
+public record GameSnapshot(Long id, String userId, int year, int completedYear,
+                           boolean completed, boolean hundredPercent, boolean favourite) {
+
+    public static GameSnapshot of(GameItemEntity game) {
+        return new GameSnapshot(game.getId(), game.getUserId(), game.getYear(), game.getCompletedYear(),
+                game.isCompleted(), game.isHundredPercent(), game.isFavourite());
+    }
+
+    /** The year this game counts towards on the completion view, or null if not completed. */
+    public Integer completionYear() {
+        if (!completed) {
+            return null;
+        }
+        // Same fallback as GameItemRepository.findCompletedByYearPage.
+        return completedYear != 0 ? completedYear : year;
+    }
+}
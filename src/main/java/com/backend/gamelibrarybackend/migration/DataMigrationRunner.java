@@ -1,12 +1,16 @@
 package com.backend.gamelibrarybackend.migration;
 
+import com.backend.gamelibrarybackend.events.GameChangeEvent;
+import com.backend.gamelibrarybackend.events.GameSnapshot;
 import com.backend.gamelibrarybackend.models.GameItemEntity;
 import com.backend.gamelibrarybackend.repository.GameItemRepository;
+import com.backend.gamelibrarybackend.service.GameWriteQueue;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
@@ -28,23 +32,33 @@ import java.util.List;
  *
  * Both directions go through JPA, so types (timestamps, booleans, and the gallery
  * and video collections) are converted correctly regardless of the underlying DB.
+ * Imported games are saved on the GameWriteQueue, IMPORT_BATCH per unit, each with a
+ * CREATED GameChangeEvent like any other new game: stats, the change log (so synced
+ * clients pick them up) and the list caches all follow.
  * Driven by scripts/migrate-from-railway.ps1 — see LOCAL-SETUP.md.
  */
 @Component
 public class DataMigrationRunner implements CommandLineRunner {
 
     private static final Logger log = LoggerFactory.getLogger(DataMigrationRunner.class);
+    private static final int IMPORT_BATCH = 500;
 
     private final GameItemRepository repository;
+    private final GameWriteQueue gameWriteQueue;
+    private final ApplicationEventPublisher eventPublisher;
     private final ObjectMapper objectMapper;
     private final String exportFile;
     private final String importFile;
 
     public DataMigrationRunner(GameItemRepository repository,
+                               GameWriteQueue gameWriteQueue,
+                               ApplicationEventPublisher eventPublisher,
                                ObjectMapper objectMapper,
                                @Value("${app.migrate.export:}") String exportFile,
                                @Value("${app.migrate.import:}") String importFile) {
         this.repository = repository;
+        this.gameWriteQueue = gameWriteQueue;
+        this.eventPublisher = eventPublisher;
         this.objectMapper = objectMapper;
         this.exportFile = exportFile;
         this.importFile = importFile;
@@ -72,17 +86,27 @@ public class DataMigrationRunner implements CommandLineRunner {
                 new File(path),
                 objectMapper.getTypeFactory().constructCollectionType(List.class, GameDto.class));
         int saved = 0;
-        int skipped = 0;
-        for (GameDto dto : dtos) {
+        for (int from = 0; from < dtos.size(); from += IMPORT_BATCH) {
+            List<GameDto> batch = dtos.subList(from, Math.min(dtos.size(), from + IMPORT_BATCH));
+            saved += gameWriteQueue.execute(() -> importBatch(batch));
+        }
+        log.info("MIGRATION IMPORT: saved {} games, skipped {} already present, from {}",
+                saved, dtos.size() - saved, path);
+    }
+
+    // A write-queue unit: counts only what it saved, so a retried group recounts from scratch.
+    private int importBatch(List<GameDto> batch) {
+        int saved = 0;
+        for (GameDto dto : batch) {
             // Idempotent: the unique (user, name, year) constraint also guards this.
             if (repository.existsByUserIdAndNameAndYear(dto.userId(), dto.name(), dto.year())) {
-                skipped++;
                 continue;
             }
-            repository.save(toEntity(dto));
+            GameItemEntity entity = repository.save(toEntity(dto));
+            eventPublisher.publishEvent(GameChangeEvent.created(GameSnapshot.of(entity)));
             saved++;
         }
-        log.info("MIGRATION IMPORT: saved {} games, skipped {} already present, from {}", saved, skipped, path);
+        return saved;
     }
 
     private void stop() {
@@ -0,0 +1,129 @@
+package com.backend.gamelibrarybackend.migration;
+
+import com.backend.gamelibrarybackend.migration.DataMigrationRunner.GameDto;
+import com.backend.gamelibrarybackend.repository.GameItemRepository;
+import com.backend.gamelibrarybackend.service.GameImportService;
+import com.backend.gamelibrarybackend.service.GameImportService.ImportResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds a synthetic library for the 'loadtest' profile: app.loadtest.users users
+ * ({@code loadtest-user-0}, {@code loadtest-user-1}, ...) with games-per-user games each,
+ * a mix of completed, favourite and 100% games spread over the last 15 years.
+ *
+ * Rows go through {@link GameImportService}, the same path as
+ * {@code POST /admin/games/import}, so stats, search and the change events stay
+ * consistent with what a real import produces. Users that already have games are
+ * left alone, so restarting against the same database file keeps the data set.
+ * The data is derived from a fixed seed, so every run generates the same library.
+ */
+@Component
+@Profile("loadtest")
+public class LoadTestDataGenerator implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestDataGenerator.class);
+    public static final String USER_PREFIX = "loadtest-user-";
+
+    private final GameImportService gameImportService;
+    private final GameItemRepository repository;
+    private final ObjectMapper objectMapper;
+    private final int users;
+    private final int gamesPerUser;
+    private final int galleryPerGame;
+    private final int videosPerGame;
+
+    public LoadTestDataGenerator(GameImportService gameImportService,
+                                 GameItemRepository repository,
+                                 ObjectMapper objectMapper,
+                                 @Value("${app.loadtest.users:50}") int users,
+                                 @Value("${app.loadtest.games-per-user:200}") int gamesPerUser,
+                                 @Value("${app.loadtest.gallery-per-game:3}") int galleryPerGame,
+                                 @Value("${app.loadtest.videos-per-game:1}") int videosPerGame) {
+        this.gameImportService = gameImportService;
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.users = users;
+        this.gamesPerUser = gamesPerUser;
+        this.galleryPerGame = galleryPerGame;
+        this.videosPerGame = videosPerGame;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        long started = System.nanoTime();
+        int seeded = 0;
+        int imported = 0;
+        for (int u = 0; u < users; u++) {
+            String userId = USER_PREFIX + u;
+            if (repository.countByUserId(userId) > 0) {
+                continue;
+            }
+            ImportResult result = gameImportService.importGames(
+                    new ByteArrayInputStream(ndjson(userId, new Random(u))), userId);
+            imported += result.getImported();
+            seeded++;
+        }
+        if (seeded > 0) {
+            log.info("LOADTEST: generated {} games for {} users in {} ms", imported, seeded,
+                    Duration.ofNanos(System.nanoTime() - started).toMillis());
+        } else {
+            log.info("LOADTEST: all {} users already have data; nothing generated", users);
+        }
+    }
+
+    private byte[] ndjson(String userId, Random random) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(gamesPerUser * 512);
+        int thisYear = Instant.now().atZone(ZoneOffset.UTC).getYear();
+        Instant start = Instant.now().minus(Duration.ofDays(3 * 365));
+        for (int i = 0; i < gamesPerUser; i++) {
+            int year = thisYear - random.nextInt(15);
+            boolean completed = random.nextInt(100) < 60;
+            boolean hundredPercent = completed && random.nextInt(100) < 25;
+            boolean favourite = random.nextInt(100) < 20;
+            int completedYear = completed ? Math.min(thisYear, year + random.nextInt(3)) : 0;
+            String base = "/uploads/" + userId + "/game-" + i;
+            GameDto dto = new GameDto(
+                    null, "Game " + i + " " + WORDS[random.nextInt(WORDS.length)], year, completedYear,
+                    completed, hundredPercent, favourite,
+                    random.nextInt(100) < 30 ? WORDS[random.nextInt(WORDS.length)] + " edition" : null,
+                    base + "-cover.jpg", userId,
+                    random.nextInt(100) < 40 ? "Played on " + WORDS[random.nextInt(WORDS.length)] : null,
+                    urls(base + "-shot-", ".jpg", galleryPerGame),
+                    urls(base + "-clip-", ".mp4", videosPerGame),
+                    // Oldest first from three years ago, one game every three to four hours.
+                    start.plusSeconds((long) i * 3 * 3600 + random.nextInt(3600)),
+                    null);
+            objectMapper.writeValue(out, dto);
+            out.write('\n');
+        }
+        return out.toByteArray();
+    }
+
+    private static List<String> urls(String prefix, String suffix, int count) {
+        List<String> urls = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            urls.add(prefix + i + suffix);
+        }
+        return urls;
+    }
+
+    private static final String[] WORDS = {
+            "Legends", "Chronicles", "Frontier", "Odyssey", "Shadows", "Horizon",
+            "Remastered", "Origins", "Rebirth", "Kingdom", "Drift", "Nocturne"
+    };
+}
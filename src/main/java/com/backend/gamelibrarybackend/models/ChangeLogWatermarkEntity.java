@@ -0,0 +1,27 @@
+package com.backend.gamelibrarybackend.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+
+/**
+ * Highest change-log seq whose tombstone compaction has removed, per user. A client
+ * syncing from an older seq may have missed a delete and has to start over. Written
+ * only through the native upsert in GameChangeLogRepository.
+ */
+@Entity
+@Table(name = "change_log_watermark")
+@Getter
+public class ChangeLogWatermarkEntity {
+
+    @Id
+    @Column(name = "user_id", length = 128)
+    private String userId;
+    @Column(name = "compacted_seq", nullable = false)
+    private long compactedSeq;
+
+    protected ChangeLogWatermarkEntity() {
+    }
+}
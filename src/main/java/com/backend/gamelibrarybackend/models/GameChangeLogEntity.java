@@ -0,0 +1,46 @@
+package com.backend.gamelibrarybackend.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * One committed change to a user's game, in commit order: seq is the position clients
+ * sync from ({@code GET /admin/changes?since=<seq>}). type is the GameChangeEvent type,
+ * so DELETED rows are the tombstones. Written by GameChangeLogService's native insert in
+ * the mutation's own transaction; compaction keeps only the newest row per game.
+ */
+@Entity
+@Table(
+        name = "game_change_log",
+        indexes = {
+                @Index(name = "idx_change_log_user_seq", columnList = "user_id, seq"),
+                @Index(name = "idx_change_log_user_game", columnList = "user_id, game_id, seq")
+        }
+)
+@Getter
+public class GameChangeLogEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "seq")
+    private Long seq;
+    @Column(name = "user_id", nullable = false, length = 128)
+    private String userId;
+    @Column(name = "game_id", nullable = false)
+    private Long gameId;
+    @Column(name = "type", nullable = false, length = 16)
+    private String type;
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    protected GameChangeLogEntity() {
+    }
+}
@@ -9,6 +9,7 @@ import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.CollectionTable;
 import jakarta.persistence.JoinColumn;
@@ -19,13 +20,23 @@ import java.util.ArrayList;
 import java.util.List;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Entity
 @Table(
         name = "game_item_entity",
+        // One index per list view: equality on the user and the view's flag, then
+        // (created_at, id) in the order the keyset pages sort by, so no page needs a
+        // temp B-tree. The byYear view uses the completed index and filters the year
+        // as it walks, because its completed_year/year fallback cannot be an index range.
+        // QueryPlanTest checks every GameItemRepository query against these.
         indexes = {
-                @Index(name = "idx_game_item_user_id", columnList = "user_id")
+                @Index(name = "idx_game_item_user_id", columnList = "user_id"),
+                @Index(name = "idx_game_item_user_favourite", columnList = "user_id, is_favourite, created_at, id"),
+                @Index(name = "idx_game_item_user_completed", columnList = "user_id, is_completed, created_at, id"),
+                @Index(name = "idx_game_item_user_hundred", columnList = "user_id, is_hundred_percent, created_at, id")
         },
         uniqueConstraints = {
                 @jakarta.persistence.UniqueConstraint(name = "uc_user_name_year", columnNames = {"user_id", "name", "year"})
@@ -72,15 +83,27 @@ public class GameItemEntity {
     @Getter
     @Setter
     @ElementCollection
-    @CollectionTable(name = "game_gallery", joinColumns = @JoinColumn(name = "game_id"))
+    @CollectionTable(name = "game_gallery", joinColumns = @JoinColumn(name = "game_id"),
+            indexes = @Index(name = "idx_game_gallery_game_id", columnList = "game_id"))
     @Column(name = "url", length = 512)
     private List<String> gallery = new ArrayList<>();
     @Getter
     @Setter
     @ElementCollection
-    @CollectionTable(name = "game_videos", joinColumns = @JoinColumn(name = "game_id"))
+    @CollectionTable(name = "game_videos", joinColumns = @JoinColumn(name = "game_id"),
+            indexes = @Index(name = "idx_game_videos_game_id", columnList = "game_id"))
     @Column(name = "url", length = 512)
     private List<String> videos = new ArrayList<>();
+    // Resized copies (width -> url) of imageUrl and of each gallery image, from
+    // image_variant. Not columns; filled in by GameQueryService for the detail view.
+    @Getter
+    @Setter
+    @Transient
+    private Map<Integer, String> imageVariants = new LinkedHashMap<>();
+    @Getter
+    @Setter
+    @Transient
+    private Map<String, Map<Integer, String>> galleryVariants = new LinkedHashMap<>();
     @Getter
     @Setter
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -0,0 +1,49 @@
+package com.backend.gamelibrarybackend.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+
+/**
+ * A resized copy of an uploaded image, keyed by the original's URL so it applies to
+ * every game that references that image (cover or gallery). Written by
+ * ImageVariantService once the copy is stored.
+ */
+@Entity
+@Table(
+        name = "image_variant",
+        indexes = {
+                @Index(name = "idx_image_variant_source", columnList = "source_url")
+        },
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uc_image_variant", columnNames = {"source_url", "width"})
+        }
+)
+@Getter
+public class ImageVariantEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "source_url", nullable = false, length = 512)
+    private String sourceUrl;
+    @Column(name = "width", nullable = false)
+    private int width;
+    @Column(name = "url", nullable = false, length = 512)
+    private String url;
+
+    protected ImageVariantEntity() {
+    }
+
+    public ImageVariantEntity(String sourceUrl, int width, String url) {
+        this.sourceUrl = sourceUrl;
+        this.width = width;
+        this.url = url;
+    }
+}
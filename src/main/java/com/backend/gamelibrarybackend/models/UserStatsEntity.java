@@ -0,0 +1,33 @@
+package com.backend.gamelibrarybackend.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+
+/**
+ * Per-user library counters, maintained incrementally by GameStatsService in the
+ * same transaction as each game mutation. Written only through the native upserts
+ * in UserStatsRepository; mapped here so Hibernate creates the table.
+ */
+@Entity
+@Table(name = "user_stats")
+@Getter
+public class UserStatsEntity {
+
+    @Id
+    @Column(name = "user_id", length = 128)
+    private String userId;
+    @Column(name = "total_count", nullable = false)
+    private long totalCount;
+    @Column(name = "completed_count", nullable = false)
+    private long completedCount;
+    @Column(name = "favourite_count", nullable = false)
+    private long favouriteCount;
+    @Column(name = "hundred_percent_count", nullable = false)
+    private long hundredPercentCount;
+
+    protected UserStatsEntity() {
+    }
+}
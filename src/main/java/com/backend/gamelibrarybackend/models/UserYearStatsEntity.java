@@ -0,0 +1,38 @@
+package com.backend.gamelibrarybackend.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+
+/**
+ * Completed games per user and completion year (completedYear, falling back to the
+ * release year, as on the "games by year" screen). Maintained like UserStatsEntity.
+ */
+@Entity
+@Table(
+        name = "user_year_stats",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uc_user_year_stats", columnNames = {"user_id", "year"})
+        }
+)
+@Getter
+public class UserYearStatsEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "user_id", nullable = false, length = 128)
+    private String userId;
+    @Column(name = "year", nullable = false)
+    private int year;
+    @Column(name = "completed_count", nullable = false)
+    private long completedCount;
+
+    protected UserYearStatsEntity() {
+    }
+}
@@ -0,0 +1,72 @@
+package com.backend.gamelibrarybackend.repository;
+
+import com.backend.gamelibrarybackend.models.GameChangeLogEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface GameChangeLogRepository extends JpaRepository<GameChangeLogEntity, Long> {
+
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            INSERT INTO game_change_log (user_id, game_id, type, changed_at)
+            VALUES (:userId, :gameId, :type, :changedAt)
+            """)
+    void append(@Param("userId") String userId,
+                @Param("gameId") long gameId,
+                @Param("type") String type,
+                @Param("changedAt") Instant changedAt);
+
+    List<GameChangeLogEntity> findByUserIdAndSeqGreaterThanOrderBySeq(String userId, long seq, Limit limit);
+
+    // Newest seq across all users: where a freshly bootstrapped client continues from.
+    @Query(value = "SELECT COALESCE(MAX(c.seq), 0) FROM GameChangeLogEntity c")
+    long findHeadSeq();
+
+    @Query(nativeQuery = true, value = "SELECT compacted_seq FROM change_log_watermark WHERE user_id = :userId")
+    Long findWatermark(@Param("userId") String userId);
+
+    // Compaction. A row is superseded once a newer row exists for the same game; clients
+    // read current rows, not diffs, so only the newest row per game matters.
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            DELETE FROM game_change_log
+            WHERE EXISTS (SELECT 1 FROM game_change_log newer
+                          WHERE newer.user_id = game_change_log.user_id
+                            AND newer.game_id = game_change_log.game_id
+                            AND newer.seq > game_change_log.seq)
+            """)
+    int deleteSuperseded();
+
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            INSERT INTO change_log_watermark (user_id, compacted_seq)
+            SELECT user_id, MAX(seq) FROM game_change_log
+            WHERE type = 'DELETED' AND changed_at < :cutoff
+              AND seq < (SELECT MAX(seq) FROM game_change_log)
+            GROUP BY user_id
+            ON CONFLICT (user_id) DO UPDATE SET compacted_seq = MAX(compacted_seq, excluded.compacted_seq)
+            """)
+    int raiseWatermarks(@Param("cutoff") Instant cutoff);
+
+    // The newest row is never removed: SQLite hands out max(seq) + 1 next, so deleting
+    // it would let a new change reuse a seq that clients have already synced past.
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            DELETE FROM game_change_log
+            WHERE type = 'DELETED' AND changed_at < :cutoff
+              AND seq < (SELECT MAX(seq) FROM game_change_log)
+            """)
+    int deleteTombstonesBefore(@Param("cutoff") Instant cutoff);
+}
@@ -1,30 +1,210 @@
 package com.backend.gamelibrarybackend.repository;
 
+import com.backend.gamelibrarybackend.dto.GameListItemDTO;
+import com.backend.gamelibrarybackend.dto.GameMediaUrlDTO;
 import com.backend.gamelibrarybackend.models.GameItemEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+// Read-only by default so finders run on the read pool (see SqliteDataSourceConfig);
+// save/delete keep SimpleJpaRepository's read-write transactions.
+@Transactional(readOnly = true)
 public interface GameItemRepository extends JpaRepository<GameItemEntity, Long> {
 
-    List<GameItemEntity> findByUserIdOrderByCreatedAtDesc(String userId);
-    List<GameItemEntity> findByUserIdAndCompletedYearOrderByCreatedAtDesc(String userId, int completedYear);
-    List<GameItemEntity> findByUserIdAndIsFavouriteTrueOrderByCreatedAtDesc(String userId);
-    List<GameItemEntity> findByUserIdAndIsHundredPercentTrueOrderByCreatedAtDesc(String userId);
-    List<GameItemEntity> findByUserIdAndIsCompletedFalseOrderByCreatedAtDesc(String userId);
+    // Keyset (cursor) pages: rows strictly after (createdAt, id) in (createdAt DESC, id DESC)
+    // order. The id tie-breaker keeps pages stable when several games share a timestamp.
+    // They select list views rather than entities; gallery/videos are attached in bulk
+    // with findGalleryUrls/findVideoUrls so a page costs a fixed number of queries.
     @Query(value = """
-            SELECT g FROM GameItemEntity g
+            SELECT new com.backend.gamelibrarybackend.dto.GameListItemDTO(
+                g.id, g.name, g.year, g.completedYear, g.isCompleted, g.isHundredPercent, g.isFavourite,
+                g.specialDescription, g.imageUrl, g.userId, g.note, g.createdAt, g.updatedAt)
+            FROM GameItemEntity g
+            WHERE g.userId = :userId
+              AND g.isCompleted = false
+              AND (g.createdAt < :createdAt OR (g.createdAt = :createdAt AND g.id < :id))
+            ORDER BY g.createdAt DESC, g.id DESC
+            """)
+    List<GameListItemDTO> findToBeCompletedPage(@Param("userId") String userId,
+                                                @Param("createdAt") Instant createdAt,
+                                                @Param("id") long id,
+                                                Limit limit);
+    @Query(value = """
+            SELECT new com.backend.gamelibrarybackend.dto.GameListItemDTO(
+                g.id, g.name, g.year, g.completedYear, g.isCompleted, g.isHundredPercent, g.isFavourite,
+                g.specialDescription, g.imageUrl, g.userId, g.note, g.createdAt, g.updatedAt)
+            FROM GameItemEntity g
+            WHERE g.userId = :userId
+              AND g.isFavourite = true
+              AND (g.createdAt < :createdAt OR (g.createdAt = :createdAt AND g.id < :id))
+            ORDER BY g.createdAt DESC, g.id DESC
+            """)
+    List<GameListItemDTO> findFavouritePage(@Param("userId") String userId,
+                                            @Param("createdAt") Instant createdAt,
+                                            @Param("id") long id,
+                                            Limit limit);
+    @Query(value = """
+            SELECT new com.backend.gamelibrarybackend.dto.GameListItemDTO(
+                g.id, g.name, g.year, g.completedYear, g.isCompleted, g.isHundredPercent, g.isFavourite,
+                g.specialDescription, g.imageUrl, g.userId, g.note, g.createdAt, g.updatedAt)
+            FROM GameItemEntity g
+            WHERE g.userId = :userId
+              AND g.isHundredPercent = true
+              AND (g.createdAt < :createdAt OR (g.createdAt = :createdAt AND g.id < :id))
+            ORDER BY g.createdAt DESC, g.id DESC
+            """)
+    List<GameListItemDTO> findHundredPercentPage(@Param("userId") String userId,
+                                                 @Param("createdAt") Instant createdAt,
+                                                 @Param("id") long id,
+                                                 Limit limit);
+    @Query(value = """
+            SELECT new com.backend.gamelibrarybackend.dto.GameListItemDTO(
+                g.id, g.name, g.year, g.completedYear, g.isCompleted, g.isHundredPercent, g.isFavourite,
+                g.specialDescription, g.imageUrl, g.userId, g.note, g.createdAt, g.updatedAt)
+            FROM GameItemEntity g
             WHERE g.userId = :userId
               AND g.isCompleted = true
               AND (g.completedYear = :year OR (g.completedYear = 0 AND g.year = :year))
-            ORDER BY g.createdAt DESC
+              AND (g.createdAt < :createdAt OR (g.createdAt = :createdAt AND g.id < :id))
+            ORDER BY g.createdAt DESC, g.id DESC
             """)
-    List<GameItemEntity> findCompletedByYearWithFallback(@Param("userId") String userId, @Param("year") int year);
+    List<GameListItemDTO> findCompletedByYearPage(@Param("userId") String userId,
+                                                  @Param("year") int year,
+                                                  @Param("createdAt") Instant createdAt,
+                                                  @Param("id") long id,
+                                                  Limit limit);
+
+    // Search results: the FTS query yields ranked ids, this loads their list views.
+    @Query(value = """
+            SELECT new com.backend.gamelibrarybackend.dto.GameListItemDTO(
+                g.id, g.name, g.year, g.completedYear, g.isCompleted, g.isHundredPercent, g.isFavourite,
+                g.specialDescription, g.imageUrl, g.userId, g.note, g.createdAt, g.updatedAt)
+            FROM GameItemEntity g
+            WHERE g.userId = :userId AND g.id IN :ids
+            """)
+    List<GameListItemDTO> findListItemsByIds(@Param("userId") String userId, @Param("ids") Collection<Long> ids);
+
+    // Change-feed bootstrap: the whole library as list views, in id order.
+    @Query(value = """
+            SELECT new com.backend.gamelibrarybackend.dto.GameListItemDTO(
+                g.id, g.name, g.year, g.completedYear, g.isCompleted, g.isHundredPercent, g.isFavourite,
+                g.specialDescription, g.imageUrl, g.userId, g.note, g.createdAt, g.updatedAt)
+            FROM GameItemEntity g
+            WHERE g.userId = :userId
+            ORDER BY g.id
+            """)
+    List<GameListItemDTO> findListItemsByUserId(@Param("userId") String userId);
+
+    @Query(value = """
+            SELECT new com.backend.gamelibrarybackend.dto.GameMediaUrlDTO(g.id, u)
+            FROM GameItemEntity g JOIN g.gallery u
+            WHERE g.id IN :ids
+            """)
+    List<GameMediaUrlDTO> findGalleryUrls(@Param("ids") Collection<Long> ids);
+    @Query(value = """
+            SELECT new com.backend.gamelibrarybackend.dto.GameMediaUrlDTO(g.id, u)
+            FROM GameItemEntity g JOIN g.videos u
+            WHERE g.id IN :ids
+            """)
+    List<GameMediaUrlDTO> findVideoUrls(@Param("ids") Collection<Long> ids);
+
+    // Games showing an image as cover or in their gallery (new variants invalidate them).
+    // MEMBER OF is a correlated lookup on game_gallery's game_id index, so no DISTINCT sort.
+    @Query(value = """
+            SELECT g FROM GameItemEntity g
+            WHERE g.userId = :userId AND (g.imageUrl = :url OR :url MEMBER OF g.gallery)
+            """)
+    List<GameItemEntity> findReferencingImage(@Param("userId") String userId, @Param("url") String url);
+
+    // Detail view: gallery comes back in the same SELECT. Only one bag can be joined per
+    // query, so the caller initializes videos with a second statement.
+    @EntityGraph(attributePaths = "gallery")
+    Optional<GameItemEntity> findWithGalleryByIdAndUserId(Long id, String userId);
+
+    // Export: rows are pulled from the cursor in JDBC fetches of 500 rather than
+    // materialized as one list. Must be consumed inside a transaction and closed.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(value = "SELECT g FROM GameItemEntity g WHERE g.userId = :userId ORDER BY g.id")
+    Stream<GameItemEntity> streamByUserId(@Param("userId") String userId);
+
+    // Batch edits (PATCH /admin/games, GameBatchService): one statement per changed field
+    // value or per collection, scoped to the caller's games. Earlier writes are flushed
+    // first. The persistence context is shared by every unit in the write group, so it
+    // is not cleared; GameBatchService detaches just the games these statements touch.
+    List<GameItemEntity> findByUserIdAndIdIn(String userId, Collection<Long> ids);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE GameItemEntity g SET g.isFavourite = :value, g.updatedAt = :now
+            WHERE g.userId = :userId AND g.id IN :ids
+            """)
+    int updateFavourite(@Param("userId") String userId, @Param("ids") Collection<Long> ids,
+                        @Param("value") boolean value, @Param("now") Instant now);
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE GameItemEntity g SET g.isHundredPercent = :value, g.updatedAt = :now
+            WHERE g.userId = :userId AND g.id IN :ids
+            """)
+    int updateHundredPercent(@Param("userId") String userId, @Param("ids") Collection<Long> ids,
+                             @Param("value") boolean value, @Param("now") Instant now);
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE GameItemEntity g SET g.completedYear = :value, g.updatedAt = :now
+            WHERE g.userId = :userId AND g.id IN :ids
+            """)
+    int updateCompletedYear(@Param("userId") String userId, @Param("ids") Collection<Long> ids,
+                            @Param("value") int value, @Param("now") Instant now);
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE GameItemEntity g SET g.isCompleted = :value, g.updatedAt = :now
+            WHERE g.userId = :userId AND g.id IN :ids
+            """)
+    int updateCompleted(@Param("userId") String userId, @Param("ids") Collection<Long> ids,
+                        @Param("value") boolean value, @Param("now") Instant now);
+    // Run after the flag updates: a completed game without a completion year counts
+    // towards its release year, as in the entity path (GameBatchService#applyFlags).
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE GameItemEntity g SET g.completedYear = g.year
+            WHERE g.userId = :userId AND g.id IN :ids AND g.isCompleted = true AND g.completedYear = 0
+            """)
+    int fillMissingCompletedYear(@Param("userId") String userId, @Param("ids") Collection<Long> ids);
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(nativeQuery = true, value = "DELETE FROM game_gallery WHERE game_id IN :ids")
+    int deleteGalleryByGameIds(@Param("ids") Collection<Long> ids);
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(nativeQuery = true, value = "DELETE FROM game_videos WHERE game_id IN :ids")
+    int deleteVideosByGameIds(@Param("ids") Collection<Long> ids);
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM GameItemEntity g WHERE g.userId = :userId AND g.id IN :ids")
+    int deleteByUserIdAndIds(@Param("userId") String userId, @Param("ids") Collection<Long> ids);
+
     long countByUserId(String userId);
     boolean existsByUserIdAndNameAndYear(String userId, String name, int year);
     boolean existsByUserIdAndNameAndYearAndIdNot(String userId, String name, int year, Long id);
+    boolean existsByIdAndUserId(Long id, String userId);
     java.util.Optional<GameItemEntity> findByIdAndUserId(Long id, String userId);
 
 }
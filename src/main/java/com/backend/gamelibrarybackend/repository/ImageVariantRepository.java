@@ -0,0 +1,18 @@
+package com.backend.gamelibrarybackend.repository;
+
+import com.backend.gamelibrarybackend.models.ImageVariantEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface ImageVariantRepository extends JpaRepository<ImageVariantEntity, Long> {
+
+    List<ImageVariantEntity> findBySourceUrlIn(Collection<String> sourceUrls);
+
+    boolean existsBySourceUrl(String sourceUrl);
+
+    boolean existsBySourceUrlAndWidth(String sourceUrl, int width);
+}
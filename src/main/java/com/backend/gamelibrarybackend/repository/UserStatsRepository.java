@@ -0,0 +1,81 @@
+package com.backend.gamelibrarybackend.repository;
+
+import com.backend.gamelibrarybackend.models.UserStatsEntity;
+import com.backend.gamelibrarybackend.models.UserYearStatsEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface UserStatsRepository extends JpaRepository<UserStatsEntity, String> {
+
+    @Query(value = """
+            SELECT y FROM UserYearStatsEntity y
+            WHERE y.userId = :userId AND y.completedCount > 0
+            ORDER BY y.year
+            """)
+    List<UserYearStatsEntity> findCompletionYears(@Param("userId") String userId);
+
+    // Deltas are applied with SQLite upserts so the first change for a user creates its row.
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            INSERT INTO user_stats (user_id, total_count, completed_count, favourite_count, hundred_percent_count)
+            VALUES (:userId, :total, :completed, :favourite, :hundredPercent)
+            ON CONFLICT (user_id) DO UPDATE SET
+                total_count = total_count + excluded.total_count,
+                completed_count = completed_count + excluded.completed_count,
+                favourite_count = favourite_count + excluded.favourite_count,
+                hundred_percent_count = hundred_percent_count + excluded.hundred_percent_count
+            """)
+    void applyDelta(@Param("userId") String userId,
+                    @Param("total") long total,
+                    @Param("completed") long completed,
+                    @Param("favourite") long favourite,
+                    @Param("hundredPercent") long hundredPercent);
+
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            INSERT INTO user_year_stats (user_id, year, completed_count)
+            VALUES (:userId, :year, :delta)
+            ON CONFLICT (user_id, year) DO UPDATE SET completed_count = completed_count + excluded.completed_count
+            """)
+    void applyYearDelta(@Param("userId") String userId, @Param("year") int year, @Param("delta") long delta);
+
+    // Rebuild: recompute everything from game_item_entity with two GROUP BYs.
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = "DELETE FROM user_stats")
+    void deleteAllStats();
+
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = "DELETE FROM user_year_stats")
+    void deleteAllYearStats();
+
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            INSERT INTO user_stats (user_id, total_count, completed_count, favourite_count, hundred_percent_count)
+            SELECT user_id, COUNT(*), SUM(is_completed), SUM(is_favourite), SUM(is_hundred_percent)
+            FROM game_item_entity
+            GROUP BY user_id
+            """)
+    int rebuildStats();
+
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            INSERT INTO user_year_stats (user_id, year, completed_count)
+            SELECT user_id, CASE WHEN completed_year = 0 THEN year ELSE completed_year END, COUNT(*)
+            FROM game_item_entity
+            WHERE is_completed = 1
+            GROUP BY 1, 2
+            """)
+    int rebuildYearStats();
+}
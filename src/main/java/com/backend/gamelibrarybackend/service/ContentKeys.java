@@ -0,0 +1,45 @@
+package com.backend.gamelibrarybackend.service;
+
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Content-addressed object names: {@code <sha256 hex><.ext>} under the user's prefix.
+ * The same bytes uploaded twice by a user map to the same object, so the second
+ * upload can skip the write. The extension is kept only so content types and
+ * ImageIO keep working off the name.
+ */
+final class ContentKeys {
+
+    private ContentKeys() {
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    static String fileName(byte[] digest, String originalName) {
+        return HexFormat.of().formatHex(digest) + extension(originalName);
+    }
+
+    /** ".png" for "Cover Art.PNG"; empty when there is no short alphanumeric extension. */
+    static String extension(String originalName) {
+        if (originalName == null) {
+            return "";
+        }
+        String name = Paths.get(originalName).getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        if (dot <= 0 || dot == name.length() - 1) {
+            return "";
+        }
+        String ext = name.substring(dot + 1).toLowerCase(Locale.ROOT);
+        return (ext.length() <= 10 && ext.chars().allMatch(Character::isLetterOrDigit)) ? "." + ext : "";
+    }
+}
@@ -0,0 +1,159 @@
+package com.backend.gamelibrarybackend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Browser-to-bucket uploads: the client asks for a presigned PUT, sends the bytes
+ * straight to S3, then confirms so the object can be attached to a game. Nothing but
+ * the two small JSON calls passes through this server.
+ *
+ * The signature covers bucket, key, Content-Type and Content-Length, so the client
+ * can only write that one {@code userId/<uuid>.<ext>} key, with the declared type and
+ * size. The extension is derived from the content type, so the key alone says which
+ * media type it may be confirmed as. Confirm re-checks the stored object with a HEAD
+ * anyway, since S3-compatible stand-ins are not all as strict, but never deletes: the
+ * key may already be attached to a game. Objects that are never confirmed are left to
+ * a bucket lifecycle rule.
+ */
+@Service
+@Profile("!local")
+public class DirectUploadService {
+
+    // Allowed content types per media type, each with the extension its keys get.
+    private static final Map<String, Map<String, String>> ALLOWED_TYPES = Map.of(
+            "image", Map.of("image/jpeg", ".jpg", "image/png", ".png", "image/webp", ".webp", "image/gif", ".gif"),
+            "video", Map.of("video/mp4", ".mp4", "video/webm", ".webm", "video/quicktime", ".mov"));
+
+    public record PresignedUpload(String method, String url, String key, Map<String, String> headers, Instant expiresAt) {
+    }
+
+    private final S3Presigner presigner;
+    private final S3Client s3Client;
+    private final S3StorageService s3StorageService;
+    private final String bucket;
+    private final Duration expiry;
+    private final long maxImageBytes;
+    private final long maxVideoBytes;
+
+    public DirectUploadService(S3Presigner presigner,
+                               S3Client s3Client,
+                               S3StorageService s3StorageService,
+                               @Value("${storage.s3.bucket:}") String bucket,
+                               @Value("${storage.s3.direct.expiry-seconds:600}") long expirySeconds,
+                               @Value("${storage.s3.direct.max-image-bytes:10485760}") long maxImageBytes,
+                               @Value("${storage.s3.direct.max-video-bytes:524288000}") long maxVideoBytes) {
+        this.presigner = presigner;
+        this.s3Client = s3Client;
+        this.s3StorageService = s3StorageService;
+        this.bucket = bucket;
+        this.expiry = Duration.ofSeconds(expirySeconds);
+        this.maxImageBytes = maxImageBytes;
+        this.maxVideoBytes = maxVideoBytes;
+    }
+
+    /** @throws IllegalArgumentException with a client-facing message if type or size is not allowed */
+    public PresignedUpload presign(String userId, String type, String contentType, Long size) {
+        String mediaType = mediaType(type);
+        String normalizedContentType = contentType != null ? contentType.toLowerCase(Locale.ROOT).trim() : null;
+        String extension = normalizedContentType != null ? ALLOWED_TYPES.get(mediaType).get(normalizedContentType) : null;
+        if (extension == null) {
+            throw new IllegalArgumentException("Content type not allowed for " + mediaType + ".");
+        }
+        if (size == null || size <= 0 || size > maxBytes(mediaType)) {
+            throw new IllegalArgumentException("File size must be between 1 and " + maxBytes(mediaType) + " bytes.");
+        }
+
+        String key = userId + "/" + UUID.randomUUID() + extension;
+        PutObjectRequest put = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(normalizedContentType)
+                .contentLength(size)
+                .build();
+        PresignedPutObjectRequest presigned = presigner.presignPutObject(PutObjectPresignRequest.builder()
+                .signatureDuration(expiry)
+                .putObjectRequest(put)
+                .build());
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        presigned.signedHeaders().forEach((name, values) -> {
+            // The browser sets Host and Content-Length itself.
+            if (!name.equalsIgnoreCase("host") && !name.equalsIgnoreCase("content-length")) {
+                headers.put(name, String.join(",", values));
+            }
+        });
+        return new PresignedUpload("PUT", presigned.url().toString(), key, headers, presigned.expiration());
+    }
+
+    /**
+     * Checks that the object behind {@code key} belongs to the user, was presigned for
+     * {@code type} (by its extension), exists and is within the limits for that type,
+     * and returns its public URL. Nothing is deleted when a check fails.
+     *
+     * @throws IllegalArgumentException with a client-facing message otherwise
+     */
+    public String confirm(String userId, String type, String key) {
+        String mediaType = mediaType(type);
+        Pattern ownKey = Pattern.compile(Pattern.quote(userId + "/") + "[0-9a-f\\-]{36}(\\.[a-z0-9]{1,10})");
+        if (key == null || !ownKey.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid upload key.");
+        }
+        String extension = key.substring(key.lastIndexOf('.'));
+        if (!ALLOWED_TYPES.get(mediaType).containsValue(extension)) {
+            throw new IllegalArgumentException("Upload is not a " + mediaType + ".");
+        }
+
+        HeadObjectResponse head;
+        try {
+            head = s3Client.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).build());
+        } catch (NoSuchKeyException e) {
+            throw new IllegalArgumentException("Upload not found.");
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                throw new IllegalArgumentException("Upload not found.");
+            }
+            throw new RuntimeException("Failed to check upload in S3", e);
+        }
+
+        String contentType = head.contentType() != null ? head.contentType().toLowerCase(Locale.ROOT) : null;
+        Long length = head.contentLength();
+        if (contentType == null || !extension.equals(ALLOWED_TYPES.get(mediaType).get(contentType))
+                || length == null || length <= 0 || length > maxBytes(mediaType)) {
+            throw new IllegalArgumentException("Uploaded object does not match the allowed type or size.");
+        }
+        return s3StorageService.publicUrl(key);
+    }
+
+    private static String mediaType(String type) {
+        if ("image".equalsIgnoreCase(type)) {
+            return "image";
+        }
+        if ("video".equalsIgnoreCase(type)) {
+            return "video";
+        }
+        throw new IllegalArgumentException("Invalid media type.");
+    }
+
+    private long maxBytes(String mediaType) {
+        return "image".equals(mediaType) ? maxImageBytes : maxVideoBytes;
+    }
+}
@@ -12,12 +12,18 @@ import java.io.IOException;
 import java.nio.file.Paths;
 
 @Service
-public class FirebaseStorageService {
+public class FirebaseStorageService implements MediaStorage {
 
     @Value("${firebase.storage.bucket:}")
     private String storageBucket;
 
-    public String upload(MultipartFile file, String userId) throws IOException {
+    @Override
+    public String backend() {
+        return "firebase";
+    }
+
+    @Override
+    public StoredMedia put(MultipartFile file, String userId) throws IOException {
         Bucket bucket = StorageClient.getInstance().bucket(resolveBucketName());
         if (bucket == null) {
             throw new IllegalStateException("Firebase storage bucket is not configured");
@@ -31,9 +37,36 @@ public class FirebaseStorageService {
         // Make the uploaded object publicly readable so returned URL works without signed URLs.
         blob.createAcl(Acl.of(Acl.User.ofAllUsers(), Acl.Role.READER));
 
+        return new StoredMedia(String.format("https://storage.googleapis.com/%s/%s", bucket.getName(), objectName), true);
+    }
+
+    @Override
+    public String store(String userId, String fileName, byte[] data, String contentType) {
+        Bucket bucket = StorageClient.getInstance().bucket(resolveBucketName());
+        if (bucket == null) {
+            throw new IllegalStateException("Firebase storage bucket is not configured");
+        }
+
+        String objectName = userId + "/" + fileName;
+        Blob blob = bucket.create(objectName, data, contentType);
+        blob.createAcl(Acl.of(Acl.User.ofAllUsers(), Acl.Role.READER));
+
         return String.format("https://storage.googleapis.com/%s/%s", bucket.getName(), objectName);
     }
 
+    @Override
+    public void delete(String url) {
+        Bucket bucket = StorageClient.getInstance().bucket(resolveBucketName());
+        String prefix = String.format("https://storage.googleapis.com/%s/", bucket.getName());
+        if (url == null || !url.startsWith(prefix)) {
+            return;
+        }
+        Blob blob = bucket.get(url.substring(prefix.length()));
+        if (blob != null) {
+            blob.delete();
+        }
+    }
+
     private String resolveBucketName() {
         if (storageBucket != null && !storageBucket.isBlank()) {
             return storageBucket;
@@ -0,0 +1,303 @@
+package com.backend.gamelibrarybackend.service;
+
+import com.backend.gamelibrarybackend.dto.GameBatchDTO;
+import com.backend.gamelibrarybackend.dto.GameBatchEditDTO;
+import com.backend.gamelibrarybackend.events.GameChangeEvent;
+import com.backend.gamelibrarybackend.events.GameSnapshot;
+import com.backend.gamelibrarybackend.models.GameItemEntity;
+import com.backend.gamelibrarybackend.repository.GameItemRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Multi-game edits for {@code PATCH /admin/games}: a list of partial updates and a list
+ * of ids to delete, applied as one unit on the {@link GameWriteQueue} (so one
+ * transaction) with a result per item.
+ *
+ * The games are loaded with one IN query. Edits that only touch the flags
+ * (favourite, 100%, completed, completion year) are grouped by the value they set and
+ * applied as one JPQL UPDATE per group; edits that change name, year, description or
+ * cover go through the entity like PUT /admin/games/{id}, with the same duplicate
+ * check. Deletes remove the gallery and video rows, then the games, in three
+ * statements. Every changed game still gets its own GameChangeEvent, so stats and the
+ * list caches stay right, and its gameDetail entry is evicted once the unit commits.
+ *
+ * The bulk statements bypass the persistence context, which the other units of the
+ * same write group share, so it is not cleared: only the games they touched are
+ * detached afterwards.
+ */
+@Service
+public class GameBatchService {
+
+    private final GameItemRepository gameItemRepository;
+    private final GameWriteQueue gameWriteQueue;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final int maxItems;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public GameBatchService(GameItemRepository gameItemRepository,
+                            GameWriteQueue gameWriteQueue,
+                            ApplicationEventPublisher eventPublisher,
+                            CacheManager cacheManager,
+                            @Value("${app.batch.max-items:500}") int maxItems) {
+        this.gameItemRepository = gameItemRepository;
+        this.gameWriteQueue = gameWriteQueue;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.maxItems = Math.max(1, maxItems);
+    }
+
+    /** @throws IllegalArgumentException if the batch is empty or larger than app.batch.max-items */
+    public BatchResult apply(String userId, GameBatchDTO batch) {
+        List<GameBatchEditDTO> edits = batch.getUpdate() != null ? batch.getUpdate() : List.of();
+        List<Long> deletes = batch.getDelete() != null ? batch.getDelete() : List.of();
+        int size = edits.size() + deletes.size();
+        if (size == 0) {
+            throw new IllegalArgumentException("Nothing to update or delete.");
+        }
+        if (size > maxItems) {
+            throw new IllegalArgumentException("A batch can change at most " + maxItems + " games.");
+        }
+
+        // Built inside the unit: if its commit group is retried, everything is re-read.
+        BatchResult result = gameWriteQueue.execute(() -> run(userId, edits, deletes));
+
+        Cache detail = cacheManager.getCache("gameDetail");
+        if (detail != null && !result.changed.isEmpty()) {
+            List<String> keys = result.changed.stream().map(id -> userId + ":" + id).toList();
+            if (detail.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+                caffeine.invalidateAll(keys);
+            } else {
+                keys.forEach(detail::evict);
+            }
+        }
+        return result;
+    }
+
+    private BatchResult run(String userId, List<GameBatchEditDTO> edits, List<Long> deletes) {
+        BatchResult result = new BatchResult();
+        Instant now = Instant.now();
+
+        // An id may appear once in the whole batch; later repeats are rejected.
+        Set<Long> seen = new HashSet<>();
+        List<GameBatchEditDTO> validEdits = new ArrayList<>();
+        List<Long> validDeletes = new ArrayList<>();
+        for (GameBatchEditDTO edit : edits) {
+            if (edit == null || edit.getId() == null) {
+                result.add(null, "update", 400, "Game id is required.");
+            } else if (!seen.add(edit.getId())) {
+                result.add(edit.getId(), "update", 400, "Game appears more than once in this batch.");
+            } else {
+                validEdits.add(edit);
+            }
+        }
+        for (Long id : deletes) {
+            if (id == null) {
+                result.add(null, "delete", 400, "Game id is required.");
+            } else if (!seen.add(id)) {
+                result.add(id, "delete", 400, "Game appears more than once in this batch.");
+            } else {
+                validDeletes.add(id);
+            }
+        }
+
+        Map<Long, GameItemEntity> games = seen.isEmpty() ? Map.of()
+                : gameItemRepository.findByUserIdAndIdIn(userId, seen).stream()
+                .collect(Collectors.toMap(GameItemEntity::getId, Function.identity()));
+
+        // Field edits first, through the entity; flags only afterwards, in bulk.
+        List<GameBatchEditDTO> flagEdits = new ArrayList<>();
+        for (GameBatchEditDTO edit : validEdits) {
+            GameItemEntity game = games.get(edit.getId());
+            if (game == null) {
+                result.add(edit.getId(), "update", 404, "Game not found");
+            } else if (changesFields(edit)) {
+                applyFieldEdit(userId, game, edit, result);
+            } else if (changesFlags(edit)) {
+                flagEdits.add(edit);
+            } else {
+                result.add(edit.getId(), "update", 400, "Nothing to update.");
+            }
+        }
+        applyFlagEdits(userId, flagEdits, games, now, result);
+        applyDeletes(userId, validDeletes, games, result);
+        return result;
+    }
+
+    private static boolean changesFields(GameBatchEditDTO edit) {
+        return edit.getName() != null || edit.getYear() != null
+                || edit.getSpecialDescription() != null || edit.getImageUrl() != null;
+    }
+
+    private static boolean changesFlags(GameBatchEditDTO edit) {
+        return edit.getIsFavourite() != null || edit.getIsHundredPercent() != null
+                || edit.getIsCompleted() != null || edit.getCompletedYear() != null;
+    }
+
+    private void applyFieldEdit(String userId, GameItemEntity game, GameBatchEditDTO edit, BatchResult result) {
+        String name = edit.getName() != null ? edit.getName() : game.getName();
+        int year = edit.getYear() != null ? edit.getYear() : game.getYear();
+        if (name.isBlank() || year <= 0) {
+            result.add(game.getId(), "update", 400, "Name and year are required.");
+            return;
+        }
+        if ((!name.equals(game.getName()) || year != game.getYear())
+                && gameItemRepository.existsByUserIdAndNameAndYearAndIdNot(userId, name, year, game.getId())) {
+            result.add(game.getId(), "update", 409, "Game already exists for this year.");
+            return;
+        }
+        GameSnapshot before = GameSnapshot.of(game);
+        game.setName(name);
+        game.setYear(year);
+        if (edit.getSpecialDescription() != null) {
+            game.setSpecialDescription(edit.getSpecialDescription());
+        }
+        if (edit.getImageUrl() != null) {
+            game.setImageUrl(edit.getImageUrl());
+        }
+        applyFlags(game, edit);
+        // Flushed now so the next edit's duplicate check sees this name and year.
+        gameItemRepository.saveAndFlush(game);
+        eventPublisher.publishEvent(GameChangeEvent.updated(before, GameSnapshot.of(game)));
+        result.changed(game.getId(), "update");
+    }
+
+    // Same rules as the single-game update: a completed game without a completion year
+    // counts towards its release year.
+    private static void applyFlags(GameItemEntity game, GameBatchEditDTO edit) {
+        if (edit.getCompletedYear() != null) {
+            game.setCompletedYear(edit.getCompletedYear());
+        }
+        if (edit.getIsCompleted() != null) {
+            game.setCompleted(edit.getIsCompleted());
+        }
+        if (game.isCompleted() && game.getCompletedYear() == 0) {
+            game.setCompletedYear(game.getYear());
+        }
+        if (edit.getIsHundredPercent() != null) {
+            game.setHundredPercent(edit.getIsHundredPercent());
+        }
+        if (edit.getIsFavourite() != null) {
+            game.setFavourite(edit.getIsFavourite());
+        }
+    }
+
+    private void applyFlagEdits(String userId, List<GameBatchEditDTO> edits, Map<Long, GameItemEntity> games,
+                                Instant now, BatchResult result) {
+        if (edits.isEmpty()) {
+            return;
+        }
+        Map<Long, GameSnapshot> before = new LinkedHashMap<>();
+        for (GameBatchEditDTO edit : edits) {
+            before.put(edit.getId(), GameSnapshot.of(games.get(edit.getId())));
+        }
+        group(edits, GameBatchEditDTO::getCompletedYear)
+                .forEach((value, ids) -> gameItemRepository.updateCompletedYear(userId, ids, value, now));
+        group(edits, GameBatchEditDTO::getIsCompleted)
+                .forEach((value, ids) -> gameItemRepository.updateCompleted(userId, ids, value, now));
+        group(edits, GameBatchEditDTO::getIsHundredPercent)
+                .forEach((value, ids) -> gameItemRepository.updateHundredPercent(userId, ids, value, now));
+        group(edits, GameBatchEditDTO::getIsFavourite)
+                .forEach((value, ids) -> gameItemRepository.updateFavourite(userId, ids, value, now));
+        gameItemRepository.fillMissingCompletedYear(userId, before.keySet());
+        // The managed copies no longer match their rows; a later unit reloads them.
+        before.keySet().forEach(id -> entityManager.detach(games.get(id)));
+
+        for (GameBatchEditDTO edit : edits) {
+            GameSnapshot b = before.get(edit.getId());
+            int completedYear = edit.getCompletedYear() != null ? edit.getCompletedYear() : b.completedYear();
+            boolean completed = edit.getIsCompleted() != null ? edit.getIsCompleted() : b.completed();
+            // Same fallback as applyFlags and fillMissingCompletedYear.
+            if (completed && completedYear == 0) {
+                completedYear = b.year();
+            }
+            GameSnapshot after = new GameSnapshot(b.id(), b.userId(), b.year(), completedYear, completed,
+                    edit.getIsHundredPercent() != null ? edit.getIsHundredPercent() : b.hundredPercent(),
+                    edit.getIsFavourite() != null ? edit.getIsFavourite() : b.favourite());
+            eventPublisher.publishEvent(GameChangeEvent.updated(b, after));
+            result.changed(edit.getId(), "update");
+        }
+    }
+
+    private void applyDeletes(String userId, List<Long> ids, Map<Long, GameItemEntity> games, BatchResult result) {
+        List<Long> found = new ArrayList<>();
+        for (Long id : ids) {
+            if (games.containsKey(id)) {
+                found.add(id);
+            } else {
+                result.add(id, "delete", 404, "Game not found");
+            }
+        }
+        if (found.isEmpty()) {
+            return;
+        }
+        List<GameSnapshot> before = found.stream().map(id -> GameSnapshot.of(games.get(id))).toList();
+        gameItemRepository.deleteGalleryByGameIds(found);
+        gameItemRepository.deleteVideosByGameIds(found);
+        gameItemRepository.deleteByUserIdAndIds(userId, found);
+        found.forEach(id -> entityManager.detach(games.get(id)));
+        for (GameSnapshot game : before) {
+            eventPublisher.publishEvent(GameChangeEvent.deleted(game));
+            result.changed(game.id(), "delete");
+        }
+    }
+
+    // Ids of the edits that set a field, keyed by the value they set it to.
+    private static <V> Map<V, List<Long>> group(List<GameBatchEditDTO> edits, Function<GameBatchEditDTO, V> field) {
+        Map<V, List<Long>> groups = new LinkedHashMap<>();
+        for (GameBatchEditDTO edit : edits) {
+            V value = field.apply(edit);
+            if (value != null) {
+                groups.computeIfAbsent(value, v -> new ArrayList<>()).add(edit.getId());
+            }
+        }
+        return groups;
+    }
+
+    public record ItemResult(Long id, String action, int status, String message) {
+    }
+
+    public static class BatchResult {
+        private final List<ItemResult> items = new ArrayList<>();
+        private final List<Long> changed = new ArrayList<>();
+
+        private void add(Long id, String action, int status, String message) {
+            items.add(new ItemResult(id, action, status, message));
+        }
+
+        private void changed(Long id, String action) {
+            changed.add(id);
+            add(id, action, 200, "delete".equals(action) ? "Deleted" : "Updated");
+        }
+
+        public List<ItemResult> getItems() {
+            return items;
+        }
+
+        public int getChanged() {
+            return changed.size();
+        }
+
+        public int getFailed() {
+            return items.size() - changed.size();
+        }
+    }
+}
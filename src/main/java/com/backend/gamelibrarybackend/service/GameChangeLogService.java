@@ -0,0 +1,146 @@
+package com.backend.gamelibrarybackend.service;
+
+import com.backend.gamelibrarybackend.dto.GameListItemDTO;
+import com.backend.gamelibrarybackend.events.GameChangeEvent;
+import com.backend.gamelibrarybackend.models.GameChangeLogEntity;
+import com.backend.gamelibrarybackend.repository.GameChangeLogRepository;
+import com.backend.gamelibrarybackend.repository.GameItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-user change feed for delta sync ({@code GET /admin/changes}).
+ *
+ * Every {@link GameChangeEvent} appends a row to game_change_log inside the
+ * mutation's own transaction, so the log commits or rolls back with the change and
+ * its seq order is commit order (all writes go through the single GameWriteQueue
+ * writer). A client bootstraps once without {@code since}, getting every game plus the
+ * head seq, then asks for what changed after the seq it last saw: the current rows of
+ * games changed since, and the ids of games deleted since (tombstones).
+ *
+ * Compaction drops rows superseded by a newer row for the same game, and tombstones
+ * older than tombstone-retention. Once a user's tombstones are dropped, a client
+ * syncing from before them could miss a delete; {@link ChangesGoneException} tells it
+ * to bootstrap again.
+ */
+@Service
+public class GameChangeLogService {
+
+    private static final Logger log = LoggerFactory.getLogger(GameChangeLogService.class);
+
+    private final GameChangeLogRepository changeLogRepository;
+    private final GameItemRepository gameItemRepository;
+    private final GameQueryService gameQueryService;
+    private final GameWriteQueue gameWriteQueue;
+    private final int pageSize;
+    private final Duration tombstoneRetention;
+
+    public GameChangeLogService(GameChangeLogRepository changeLogRepository,
+                                GameItemRepository gameItemRepository,
+                                GameQueryService gameQueryService,
+                                GameWriteQueue gameWriteQueue,
+                                @Value("${app.change-log.page-size:500}") int pageSize,
+                                @Value("${app.change-log.tombstone-retention:P30D}") Duration tombstoneRetention) {
+        this.changeLogRepository = changeLogRepository;
+        this.gameItemRepository = gameItemRepository;
+        this.gameQueryService = gameQueryService;
+        this.gameWriteQueue = gameWriteQueue;
+        this.pageSize = Math.max(1, pageSize);
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    @EventListener
+    public void onGameChanged(GameChangeEvent event) {
+        changeLogRepository.append(event.userId(), event.gameId(), event.type().name(), Instant.now());
+    }
+
+    /**
+     * Everything the client needs for a local copy. Runs in one read transaction, so
+     * under WAL the head and the games come from the same snapshot: a change is either
+     * in the games or after the head, never lost between the two.
+     */
+    @Transactional(readOnly = true)
+    public Changes bootstrap(String userId) {
+        long head = changeLogRepository.findHeadSeq();
+        List<GameListItemDTO> games = gameQueryService.attachMedia(gameItemRepository.findListItemsByUserId(userId));
+        return new Changes(head, false, games, List.of());
+    }
+
+    /**
+     * Up to app.change-log.page-size log rows after {@code since}, collapsed to one entry per game.
+     * {@code next} is the seq to ask from next time; {@code more} means call again at once.
+     */
+    @Transactional(readOnly = true)
+    public Changes changesSince(String userId, long since) {
+        Long watermark = changeLogRepository.findWatermark(userId);
+        if (watermark != null && since < watermark) {
+            throw new ChangesGoneException();
+        }
+        List<GameChangeLogEntity> rows =
+                changeLogRepository.findByUserIdAndSeqGreaterThanOrderBySeq(userId, since, Limit.of(pageSize + 1));
+        boolean more = rows.size() > pageSize;
+        if (more) {
+            rows = rows.subList(0, pageSize);
+        }
+        long next = rows.isEmpty() ? since : rows.get(rows.size() - 1).getSeq();
+
+        // Newest type per game within this page decides between row and tombstone.
+        Map<Long, String> latest = new LinkedHashMap<>();
+        for (GameChangeLogEntity row : rows) {
+            latest.remove(row.getGameId());
+            latest.put(row.getGameId(), row.getType());
+        }
+        List<Long> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        latest.forEach((gameId, type) -> {
+            if (GameChangeEvent.Type.DELETED.name().equals(type)) {
+                deleted.add(gameId);
+            } else {
+                changed.add(gameId);
+            }
+        });
+        // A game changed here but deleted in a later page is simply absent now;
+        // its tombstone arrives with that page.
+        List<GameListItemDTO> games = changed.isEmpty() ? List.of()
+                : gameQueryService.attachMedia(gameItemRepository.findListItemsByIds(userId, changed));
+        return new Changes(next, more, games, deleted);
+    }
+
+    @Scheduled(initialDelayString = "${app.change-log.compact-interval:PT1H}",
+            fixedDelayString = "${app.change-log.compact-interval:PT1H}")
+    public void compact() {
+        Instant cutoff = Instant.now().minus(tombstoneRetention);
+        int[] removed = gameWriteQueue.execute(() -> {
+            int superseded = changeLogRepository.deleteSuperseded();
+            changeLogRepository.raiseWatermarks(cutoff);
+            int tombstones = changeLogRepository.deleteTombstonesBefore(cutoff);
+            return new int[]{superseded, tombstones};
+        });
+        if (removed[0] > 0 || removed[1] > 0) {
+            log.info("Change log compacted: {} superseded rows, {} expired tombstones", removed[0], removed[1]);
+        }
+    }
+
+    public record Changes(long next, boolean more, List<GameListItemDTO> games, List<Long> deleted) {
+    }
+
+    /** The requested seq is older than the compacted part of the log. */
+    public static class ChangesGoneException extends RuntimeException {
+        public ChangesGoneException() {
+            super("Changes before this point have been compacted; sync again without 'since'.");
+        }
+    }
+}
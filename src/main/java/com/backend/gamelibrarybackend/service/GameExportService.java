@@ -0,0 +1,98 @@
+package com.backend.gamelibrarybackend.service;
+
+import com.backend.gamelibrarybackend.dto.GameMediaUrlDTO;
+import com.backend.gamelibrarybackend.migration.DataMigrationRunner.GameDto;
+import com.backend.gamelibrarybackend.models.GameItemEntity;
+import com.backend.gamelibrarybackend.repository.GameItemRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Writes one user's library as NDJSON (one {@link GameDto} per line, the same shape
+ * the migration runner uses and {@code /admin/games/import} reads back).
+ *
+ * Games come from a database cursor and are handled in chunks: the chunk's gallery
+ * and video URLs are fetched with one IN query each, the lines are written, and the
+ * entities are detached so the persistence context never grows with the library.
+ */
+@Service
+public class GameExportService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final GameItemRepository gameItemRepository;
+    private final ObjectWriter lineWriter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public GameExportService(GameItemRepository gameItemRepository, ObjectMapper objectMapper) {
+        this.gameItemRepository = gameItemRepository;
+        this.lineWriter = objectMapper.writerFor(GameDto.class);
+    }
+
+    @Transactional(readOnly = true)
+    public long export(String userId, OutputStream out) throws IOException {
+        long written = 0;
+        List<GameItemEntity> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (Stream<GameItemEntity> games = gameItemRepository.streamByUserId(userId)) {
+            Iterator<GameItemEntity> it = games.iterator();
+            while (it.hasNext()) {
+                chunk.add(it.next());
+                if (chunk.size() == CHUNK_SIZE) {
+                    written += writeChunk(chunk, out);
+                }
+            }
+            written += writeChunk(chunk, out);
+        }
+        out.flush();
+        return written;
+    }
+
+    private int writeChunk(List<GameItemEntity> chunk, OutputStream out) throws IOException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = chunk.stream().map(GameItemEntity::getId).toList();
+        Map<Long, List<String>> gallery = groupByGame(gameItemRepository.findGalleryUrls(ids));
+        Map<Long, List<String>> videos = groupByGame(gameItemRepository.findVideoUrls(ids));
+
+        for (GameItemEntity e : chunk) {
+            GameDto dto = new GameDto(
+                    e.getId(), e.getName(), e.getYear(), e.getCompletedYear(),
+                    e.isCompleted(), e.isHundredPercent(), e.isFavourite(),
+                    e.getSpecialDescription(), e.getImageUrl(), e.getUserId(), e.getNote(),
+                    gallery.getOrDefault(e.getId(), List.of()), videos.getOrDefault(e.getId(), List.of()),
+                    e.getCreatedAt(), e.getUpdatedAt());
+            out.write(lineWriter.writeValueAsBytes(dto));
+            out.write(NEWLINE);
+            entityManager.detach(e);
+        }
+        out.flush();
+        int size = chunk.size();
+        chunk.clear();
+        return size;
+    }
+
+    private static Map<Long, List<String>> groupByGame(List<GameMediaUrlDTO> urls) {
+        Map<Long, List<String>> byGame = new HashMap<>();
+        for (GameMediaUrlDTO media : urls) {
+            byGame.computeIfAbsent(media.gameId(), k -> new ArrayList<>()).add(media.url());
+        }
+        return byGame;
+    }
+}
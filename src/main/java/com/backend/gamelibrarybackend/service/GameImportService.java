@@ -0,0 +1,213 @@
+package com.backend.gamelibrarybackend.service;
+
+import com.backend.gamelibrarybackend.events.GameChangeEvent;
+import com.backend.gamelibrarybackend.events.GameSnapshot;
+import com.backend.gamelibrarybackend.migration.DataMigrationRunner.GameDto;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Bulk import for {@code POST /admin/games/import}.
+ *
+ * The body is read token by token with Jackson's streaming parser, so only one batch
+ * of rows is ever in memory. It accepts either the JSON array written by
+ * {@link com.backend.gamelibrarybackend.migration.DataMigrationRunner} or the NDJSON
+ * stream from {@code /admin/games/export}. Each batch is one unit on the
+ * {@link GameWriteQueue}. Duplicates are left to the uc_user_name_year constraint via
+ * {@code ON CONFLICT DO NOTHING} rather than checked with a query per row, which
+ * also makes re-running an import harmless.
+ */
+@Service
+public class GameImportService {
+
+    private static final String INSERT_GAME = """
+            INSERT INTO game_item_entity (name, year, completed_year, is_completed, is_hundred_percent,
+                is_favourite, special_description, image_url, user_id, note, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (user_id, name, year) DO NOTHING
+            """;
+    private static final String INSERT_GALLERY = "INSERT INTO game_gallery (game_id, url) VALUES (?, ?)";
+    private static final String INSERT_VIDEO = "INSERT INTO game_videos (game_id, url) VALUES (?, ?)";
+
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final GameWriteQueue gameWriteQueue;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    public GameImportService(ObjectMapper objectMapper,
+                             JdbcTemplate jdbcTemplate,
+                             GameWriteQueue gameWriteQueue,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${app.import.batch-size:500}") int batchSize) {
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.gameWriteQueue = gameWriteQueue;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public ImportResult importGames(InputStream body, String userId) throws IOException {
+        ImportResult result = new ImportResult();
+        List<GameDto> batch = new ArrayList<>(batchSize);
+        String formatError = null;
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token != null && !(array && token == JsonToken.END_ARRAY)) {
+                if (token != JsonToken.START_OBJECT) {
+                    formatError = "Expected a game object but found " + token;
+                    break;
+                }
+                GameDto dto = objectMapper.readValue(parser, GameDto.class);
+                if (dto.name() == null || dto.name().isBlank() || dto.year() <= 0) {
+                    result.invalid++;
+                } else {
+                    batch.add(dto);
+                }
+                if (batch.size() == batchSize) {
+                    insertBatch(batch, userId, result);
+                    batch.clear();
+                }
+                token = parser.nextToken();
+            }
+        } catch (JsonProcessingException e) {
+            formatError = e.getOriginalMessage();
+        }
+        // Keep what was parsed before any error, like the batches already committed.
+        insertBatch(batch, userId, result);
+        if (formatError != null) {
+            throw new ImportFormatException(formatError, result);
+        }
+        return result;
+    }
+
+    private void insertBatch(List<GameDto> batch, String userId, ImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<GameDto> rows = List.copyOf(batch);
+        int inserted = gameWriteQueue.execute(() -> jdbcTemplate.execute((ConnectionCallback<Integer>) con -> {
+            int count = 0;
+            Timestamp now = Timestamp.from(Instant.now());
+            // Same binding Hibernate uses for Instant columns, so keyset comparisons keep working.
+            Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+            try (PreparedStatement game = con.prepareStatement(INSERT_GAME, Statement.RETURN_GENERATED_KEYS);
+                 PreparedStatement gallery = con.prepareStatement(INSERT_GALLERY);
+                 PreparedStatement videos = con.prepareStatement(INSERT_VIDEO)) {
+                for (GameDto dto : rows) {
+                    int completedYear = dto.completedYear();
+                    if (dto.completed() && completedYear == 0) {
+                        completedYear = dto.year();
+                    }
+                    game.setString(1, dto.name());
+                    game.setInt(2, dto.year());
+                    game.setInt(3, completedYear);
+                    game.setBoolean(4, dto.completed());
+                    game.setBoolean(5, dto.hundredPercent());
+                    game.setBoolean(6, dto.favourite());
+                    setNullableString(game, 7, dto.specialDescription());
+                    setNullableString(game, 8, dto.imageUrl());
+                    game.setString(9, userId);
+                    setNullableString(game, 10, dto.note());
+                    game.setTimestamp(11, dto.createdAt() != null ? Timestamp.from(dto.createdAt()) : now, utc);
+                    game.setTimestamp(12, now, utc);
+                    if (game.executeUpdate() == 0) {
+                        continue; // already in this user's library
+                    }
+                    long id;
+                    try (ResultSet keys = game.getGeneratedKeys()) {
+                        keys.next();
+                        id = keys.getLong(1);
+                    }
+                    eventPublisher.publishEvent(GameChangeEvent.created(new GameSnapshot(
+                            id, userId, dto.year(), completedYear,
+                            dto.completed(), dto.hundredPercent(), dto.favourite())));
+                    addUrls(gallery, id, dto.gallery());
+                    addUrls(videos, id, dto.videos());
+                    count++;
+                }
+                gallery.executeBatch();
+                videos.executeBatch();
+            }
+            return count;
+        }));
+        result.imported += inserted;
+        result.skipped += rows.size() - inserted;
+    }
+
+    private static void addUrls(PreparedStatement statement, long gameId, List<String> urls) throws SQLException {
+        if (urls == null) {
+            return;
+        }
+        for (String url : urls) {
+            statement.setLong(1, gameId);
+            statement.setString(2, url);
+            statement.addBatch();
+        }
+    }
+
+    private static void setNullableString(PreparedStatement statement, int index, String value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.VARCHAR);
+        } else {
+            statement.setString(index, value);
+        }
+    }
+
+    public static class ImportResult {
+        private int imported;
+        private int skipped;
+        private int invalid;
+
+        public int getImported() {
+            return imported;
+        }
+
+        public int getSkipped() {
+            return skipped;
+        }
+
+        public int getInvalid() {
+            return invalid;
+        }
+    }
+
+    /** Malformed input; batches before the bad token are already committed. */
+    public static class ImportFormatException extends RuntimeException {
+        private final ImportResult partial;
+
+        public ImportFormatException(String message, ImportResult partial) {
+            super(message);
+            this.partial = partial;
+        }
+
+        public ImportResult getPartial() {
+            return partial;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.backend.gamelibrarybackend.service;
+
+import com.backend.gamelibrarybackend.dto.GameFields;
+import com.backend.gamelibrarybackend.dto.GameListItemDTO;
+import com.backend.gamelibrarybackend.dto.GameMediaUrlDTO;
+import com.backend.gamelibrarybackend.models.GameItemEntity;
+import com.backend.gamelibrarybackend.repository.GameItemRepository;
+import org.hibernate.Hibernate;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read paths that hand fully-loaded data to Jackson. Open-in-view is off, so nothing
+ * returned from here may depend on a lazy collection being loaded during serialization.
+ */
+@Service
+@Transactional(readOnly = true)
+public class GameQueryService {
+
+    private final GameItemRepository gameItemRepository;
+    private final ImageVariantService imageVariantService;
+
+    public GameQueryService(GameItemRepository gameItemRepository, ImageVariantService imageVariantService) {
+        this.gameItemRepository = gameItemRepository;
+        this.imageVariantService = imageVariantService;
+    }
+
+    /**
+     * Fills gallery/videos for a page of list views with two IN queries, whatever the
+     * page size — instead of one lazy load per collection per game — and the image
+     * variants of every cover and gallery image with a third.
+     */
+    public List<GameListItemDTO> attachMedia(List<GameListItemDTO> items) {
+        return attachMedia(items, GameFields.ALL);
+    }
+
+    /** As above, but only the queries whose results are among the requested fields run. */
+    public List<GameListItemDTO> attachMedia(List<GameListItemDTO> items, GameFields fields) {
+        if (items.isEmpty()) {
+            return items;
+        }
+        Map<Long, GameListItemDTO> byId = items.stream()
+                .collect(Collectors.toMap(GameListItemDTO::id, Function.identity()));
+        if (fields.needsGallery()) {
+            for (GameMediaUrlDTO media : gameItemRepository.findGalleryUrls(byId.keySet())) {
+                byId.get(media.gameId()).gallery().add(media.url());
+            }
+        }
+        if (fields.needsVideos()) {
+            for (GameMediaUrlDTO media : gameItemRepository.findVideoUrls(byId.keySet())) {
+                byId.get(media.gameId()).videos().add(media.url());
+            }
+        }
+        if (!fields.needsVariants()) {
+            return items;
+        }
+
+        Set<String> images = new LinkedHashSet<>();
+        for (GameListItemDTO item : items) {
+            if (item.imageUrl() != null) {
+                images.add(item.imageUrl());
+            }
+            images.addAll(item.gallery());
+        }
+        Map<String, Map<Integer, String>> variants = imageVariantService.findVariants(images);
+        if (!variants.isEmpty()) {
+            for (GameListItemDTO item : items) {
+                if (item.imageUrl() != null && variants.containsKey(item.imageUrl())) {
+                    item.imageVariants().putAll(variants.get(item.imageUrl()));
+                }
+                for (String url : item.gallery()) {
+                    if (variants.containsKey(url)) {
+                        item.galleryVariants().put(url, variants.get(url));
+                    }
+                }
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Detail view: the game and its gallery in one SELECT, its videos in a second.
+     * Cached under the same key the controller's @CacheEvict mutations use.
+     */
+    @Cacheable(value = "gameDetail", key = "#userId + ':' + #id", unless = "#result == null")
+    public Optional<GameItemEntity> findDetail(Long id, String userId) {
+        Optional<GameItemEntity> game = gameItemRepository.findWithGalleryByIdAndUserId(id, userId);
+        game.ifPresent(g -> {
+            Hibernate.initialize(g.getVideos());
+            Set<String> images = new LinkedHashSet<>(g.getGallery());
+            if (g.getImageUrl() != null) {
+                images.add(g.getImageUrl());
+            }
+            Map<String, Map<Integer, String>> variants = imageVariantService.findVariants(images);
+            if (g.getImageUrl() != null && variants.containsKey(g.getImageUrl())) {
+                g.setImageVariants(variants.get(g.getImageUrl()));
+            }
+            for (String url : g.getGallery()) {
+                if (variants.containsKey(url)) {
+                    g.getGalleryVariants().put(url, variants.get(url));
+                }
+            }
+        });
+        return game;
+    }
+
+    /**
+     * Detail view for a {@code fields=} subset: the list projection of the one game plus
+     * only the collections asked for. Not cached; the full view above is.
+     */
+    public Optional<GameListItemDTO> findDetail(Long id, String userId, GameFields fields) {
+        List<GameListItemDTO> rows = gameItemRepository.findListItemsByIds(userId, List.of(id));
+        return attachMedia(rows, fields).stream().findFirst();
+    }
+}
@@ -0,0 +1,195 @@
+package com.backend.gamelibrarybackend.service;
+
+import com.backend.gamelibrarybackend.dto.CursorPage;
+import com.backend.gamelibrarybackend.dto.GameListItemDTO;
+import com.backend.gamelibrarybackend.dto.SearchCursor;
+import com.backend.gamelibrarybackend.repository.GameItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text search over name, specialDescription and note using an SQLite FTS5
+ * table. game_search is an external-content index over game_item_entity (it stores
+ * only the inverted index, not a second copy of the text) and is kept in sync by
+ * AFTER INSERT/UPDATE/DELETE triggers, so every write path — JPA, the bulk import,
+ * the migration runner — updates it in the same transaction without any Java code.
+ *
+ * The owner is indexed too, as one token per user ('u' + the hex of the uid, so it
+ * survives case folding and tokenization intact). Every query ANDs that token with
+ * the search terms, so FTS5 only walks and ranks the caller's rows instead of
+ * filtering other users' hits afterwards. Pages continue from the last (score, id)
+ * rather than an OFFSET.
+ *
+ * The table and triggers are created (or replaced, if an older layout is found)
+ * once all beans exist and before the web server starts taking requests, followed
+ * by a one-off 'rebuild' from the existing rows.
+ */
+@Service
+@ConditionalOnExpression("'${spring.datasource.url:}'.startsWith('jdbc:sqlite:')")
+public class GameSearchService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(GameSearchService.class);
+    private static final int MAX_TERMS = 10;
+
+    // The content "table" is this view, so 'rebuild' can derive user_key like the triggers do.
+    private static final String CREATE_SOURCE = """
+            CREATE VIEW IF NOT EXISTS game_search_source AS
+            SELECT id, name, special_description, note, 'u' || hex(user_id) AS user_key
+            FROM game_item_entity
+            """;
+    private static final String CREATE_TABLE = """
+            CREATE VIRTUAL TABLE IF NOT EXISTS game_search USING fts5(
+                name, special_description, note, user_key,
+                content='game_search_source', content_rowid='id',
+                tokenize='unicode61 remove_diacritics 2')
+            """;
+    private static final List<String> TRIGGERS = List.of(
+            """
+            CREATE TRIGGER IF NOT EXISTS game_search_ai AFTER INSERT ON game_item_entity BEGIN
+                INSERT INTO game_search (rowid, name, special_description, note, user_key)
+                VALUES (new.id, new.name, new.special_description, new.note, 'u' || hex(new.user_id));
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS game_search_ad AFTER DELETE ON game_item_entity BEGIN
+                INSERT INTO game_search (game_search, rowid, name, special_description, note, user_key)
+                VALUES ('delete', old.id, old.name, old.special_description, old.note, 'u' || hex(old.user_id));
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS game_search_au AFTER UPDATE OF name, special_description, note, user_id
+            ON game_item_entity BEGIN
+                INSERT INTO game_search (game_search, rowid, name, special_description, note, user_key)
+                VALUES ('delete', old.id, old.name, old.special_description, old.note, 'u' || hex(old.user_id));
+                INSERT INTO game_search (rowid, name, special_description, note, user_key)
+                VALUES (new.id, new.name, new.special_description, new.note, 'u' || hex(new.user_id));
+            END
+            """);
+    private static final List<String> OBJECTS =
+            List.of("game_search_source", "game_search", "game_search_ai", "game_search_ad", "game_search_au");
+
+    // bm25 weights per column: a hit in the name matters most, then the description;
+    // user_key only scopes the match. MATERIALIZED keeps bm25() out of the outer WHERE.
+    private static final String SEARCH = """
+            WITH hits AS MATERIALIZED (
+                SELECT rowid AS id, bm25(game_search, 10.0, 3.0, 1.0, 0.0) AS score
+                FROM game_search
+                WHERE game_search MATCH ?)
+            SELECT id, score FROM hits
+            WHERE score > ? OR (score = ? AND id > ?)
+            ORDER BY score, id
+            LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final GameItemRepository gameItemRepository;
+    private final GameQueryService gameQueryService;
+
+    public GameSearchService(JdbcTemplate jdbcTemplate,
+                             GameItemRepository gameItemRepository,
+                             GameQueryService gameQueryService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.gameItemRepository = gameItemRepository;
+        this.gameQueryService = gameQueryService;
+    }
+
+    // Runs before the embedded server starts, so no search is ever served by a missing index.
+    @Override
+    public void afterSingletonsInstantiated() {
+        ensureIndex();
+    }
+
+    void ensureIndex() {
+        String table = jdbcTemplate.query("SELECT sql FROM sqlite_master WHERE name = 'game_search'",
+                rs -> rs.next() ? rs.getString(1) : null);
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM sqlite_master WHERE name IN ('" + String.join("', '", OBJECTS) + "')",
+                Integer.class);
+        if (table != null && table.contains("user_key") && existing != null && existing == OBJECTS.size()) {
+            return;
+        }
+        if (table != null && !table.contains("user_key")) {
+            // Index from before per-user tokens: drop it and its triggers, then rebuild.
+            jdbcTemplate.execute("DROP TRIGGER IF EXISTS game_search_ai");
+            jdbcTemplate.execute("DROP TRIGGER IF EXISTS game_search_ad");
+            jdbcTemplate.execute("DROP TRIGGER IF EXISTS game_search_au");
+            jdbcTemplate.execute("DROP TABLE game_search");
+        }
+        jdbcTemplate.execute(CREATE_SOURCE);
+        jdbcTemplate.execute(CREATE_TABLE);
+        TRIGGERS.forEach(jdbcTemplate::execute);
+        // Triggers were missing, so the index may not match the table: rebuild it once.
+        jdbcTemplate.execute("INSERT INTO game_search (game_search) VALUES ('rebuild')");
+        log.info("Full-text search index created and rebuilt");
+    }
+
+    /**
+     * One page of the user's games matching every term of {@code query} (as a prefix),
+     * best match first, starting after {@code after} (the previous page's {@code next}).
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<GameListItemDTO> search(String userId, String query, SearchCursor after, int limit) {
+        String match = toMatchExpression(userId, query);
+        if (match.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+        // One extra row tells us whether there is another page.
+        List<SearchCursor> hits = new ArrayList<>(jdbcTemplate.query(SEARCH,
+                (rs, row) -> new SearchCursor(rs.getDouble("score"), rs.getLong("id")),
+                match, after.score(), after.score(), after.id(), limit + 1));
+        String next = null;
+        if (hits.size() > limit) {
+            hits = hits.subList(0, limit);
+            next = hits.get(limit - 1).encode();
+        }
+        if (hits.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < hits.size(); i++) {
+            rank.put(hits.get(i).id(), i);
+        }
+        List<GameListItemDTO> items = new ArrayList<>(gameItemRepository.findListItemsByIds(userId, rank.keySet()));
+        items.sort(Comparator.comparing(item -> rank.get(item.id())));
+        return new CursorPage<>(gameQueryService.attachMedia(items), next);
+    }
+
+    /** The token the owner's rows carry in user_key; hex keeps it one case-insensitive token. */
+    static String userToken(String userId) {
+        return "u" + HexFormat.of().formatHex(userId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Each whitespace-separated term becomes a quoted prefix query limited to the text
+    // columns, so user input can never be parsed as FTS5 operators, column filters or
+    // a match on someone's user_key. Empty when there is nothing to search for.
+    static String toMatchExpression(String userId, String query) {
+        if (query == null) {
+            return "";
+        }
+        String terms = Arrays.stream(query.trim().split("\\s+"))
+                .filter(term -> !term.isBlank())
+                .limit(MAX_TERMS)
+                .map(term -> "\"" + term.replace("\"", "\"\"") + "\"*")
+                .collect(Collectors.joining(" "));
+        if (terms.isEmpty()) {
+            return "";
+        }
+        return "user_key : \"" + userToken(userId) + "\" AND {name special_description note} : (" + terms + ")";
+    }
+}
@@ -0,0 +1,111 @@
+package com.backend.gamelibrarybackend.service;
+
+import com.backend.gamelibrarybackend.events.GameChangeEvent;
+import com.backend.gamelibrarybackend.events.GameSnapshot;
+import com.backend.gamelibrarybackend.models.UserStatsEntity;
+import com.backend.gamelibrarybackend.models.UserYearStatsEntity;
+import com.backend.gamelibrarybackend.repository.GameItemRepository;
+import com.backend.gamelibrarybackend.repository.UserStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps user_stats / user_year_stats in step with game_item_entity. Each
+ * {@link GameChangeEvent} is turned into a delta (after minus before) and applied
+ * with an upsert in the mutation's own transaction, so the counters can never
+ * disagree with a committed library. {@link #rebuildAll()} recomputes them from
+ * scratch; it runs on startup when the stats table is empty but games exist.
+ */
+@Service
+public class GameStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(GameStatsService.class);
+
+    private final UserStatsRepository statsRepository;
+    private final GameItemRepository gameItemRepository;
+    private final GameWriteQueue gameWriteQueue;
+
+    public GameStatsService(UserStatsRepository statsRepository,
+                            GameItemRepository gameItemRepository,
+                            GameWriteQueue gameWriteQueue) {
+        this.statsRepository = statsRepository;
+        this.gameItemRepository = gameItemRepository;
+        this.gameWriteQueue = gameWriteQueue;
+    }
+
+    @EventListener
+    public void onGameChanged(GameChangeEvent event) {
+        GameSnapshot before = event.before();
+        GameSnapshot after = event.after();
+        long total = count(after != null) - count(before != null);
+        long completed = count(after != null && after.completed()) - count(before != null && before.completed());
+        long favourite = count(after != null && after.favourite()) - count(before != null && before.favourite());
+        long hundred = count(after != null && after.hundredPercent()) - count(before != null && before.hundredPercent());
+        if (total != 0 || completed != 0 || favourite != 0 || hundred != 0) {
+            statsRepository.applyDelta(event.userId(), total, completed, favourite, hundred);
+        }
+
+        Integer yearBefore = before != null ? before.completionYear() : null;
+        Integer yearAfter = after != null ? after.completionYear() : null;
+        if (!Objects.equals(yearBefore, yearAfter)) {
+            if (yearBefore != null) {
+                statsRepository.applyYearDelta(event.userId(), yearBefore, -1);
+            }
+            if (yearAfter != null) {
+                statsRepository.applyYearDelta(event.userId(), yearAfter, 1);
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> getStats(String userId) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        UserStatsEntity stats = statsRepository.findById(userId).orElse(null);
+        body.put("total", stats != null ? stats.getTotalCount() : 0L);
+        body.put("completed", stats != null ? stats.getCompletedCount() : 0L);
+        body.put("favourite", stats != null ? stats.getFavouriteCount() : 0L);
+        body.put("hundredPercent", stats != null ? stats.getHundredPercentCount() : 0L);
+        Map<Integer, Long> byYear = new LinkedHashMap<>();
+        for (UserYearStatsEntity year : statsRepository.findCompletionYears(userId)) {
+            byYear.put(year.getYear(), year.getCompletedCount());
+        }
+        body.put("completionsByYear", byYear);
+        return body;
+    }
+
+    @Transactional(readOnly = true)
+    public long getTotal(String userId) {
+        return statsRepository.findById(userId).map(UserStatsEntity::getTotalCount).orElse(0L);
+    }
+
+    /** Recomputes every user's counters from the games table, on the writer queue. */
+    public void rebuildAll() {
+        gameWriteQueue.execute(() -> {
+            statsRepository.deleteAllStats();
+            statsRepository.deleteAllYearStats();
+            int users = statsRepository.rebuildStats();
+            statsRepository.rebuildYearStats();
+            log.info("Rebuilt library stats for {} users", users);
+            return users;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfMissing() {
+        if (statsRepository.count() == 0 && gameItemRepository.count() > 0) {
+            rebuildAll();
+        }
+    }
+
+    private static long count(boolean condition) {
+        return condition ? 1 : 0;
+    }
+}
@@ -0,0 +1,249 @@
+package com.backend.gamelibrarybackend.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Group commit for SQLite mutations. Every write from GameAdminController is queued
+ * here and executed by one writer thread, which drains whatever is pending (waiting
+ * up to {@code app.write-queue.window-ms} for stragglers) and runs the whole group in
+ * a single transaction — one commit, one fsync, for the lot.
+ *
+ * Each caller's future completes only after that commit, with its own result, so
+ * durability is unchanged. If any unit in a group fails, the group is rolled back and
+ * every unit is re-run in its own transaction: the failing one gets its exception
+ * (e.g. the unique-key conflict), the rest commit as normal. Units must therefore be
+ * safe to run twice — load what they change inside the unit and do no I/O there.
+ *
+ * {@link #execute} waits at most {@code app.write-queue.timeout-ms} for the writer to
+ * pick a unit up. Each unit moves from QUEUED to either RUNNING (claimed by the writer)
+ * or CANCELLED (claimed by a caller that timed out), never both: a cancelled unit never
+ * runs and its caller gets {@link WriteTimeoutException} (503), while a caller that
+ * loses that race keeps waiting for the commit, so a 503 always means nothing was written.
+ */
+@Service
+public class GameWriteQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(GameWriteQueue.class);
+
+    private final BlockingQueue<PendingWrite<?>> queue = new LinkedBlockingQueue<>();
+    private final TransactionTemplate transactionTemplate;
+    private final int maxBatch;
+    private final long windowNanos;
+    private final long timeoutMs;
+    private final Thread writer;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile boolean running = true;
+
+    public GameWriteQueue(PlatformTransactionManager transactionManager,
+                          @Value("${app.write-queue.max-batch:64}") int maxBatch,
+                          @Value("${app.write-queue.window-ms:2}") long windowMs,
+                          @Value("${app.write-queue.timeout-ms:30000}") long timeoutMs) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxBatch = Math.max(1, maxBatch);
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, windowMs));
+        this.timeoutMs = Math.max(1, timeoutMs);
+        this.writer = new Thread(this::drainLoop, "game-write-queue");
+        this.writer.setDaemon(true);
+    }
+
+    @PostConstruct
+    void start() {
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        writer.interrupt();
+        PendingWrite<?> pending;
+        while ((pending = queue.poll()) != null) {
+            pending.future.completeExceptionally(new IllegalStateException("Write queue is shutting down"));
+        }
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        return enqueue(work).future;
+    }
+
+    private <T> PendingWrite<T> enqueue(Supplier<T> work) {
+        PendingWrite<T> pending = new PendingWrite<>(work);
+        if (!running) {
+            pending.future.completeExceptionally(new IllegalStateException("Write queue is shutting down"));
+        } else {
+            queue.add(pending);
+        }
+        return pending;
+    }
+
+    /**
+     * Submits and waits for the commit; exceptions from the unit are rethrown as-is.
+     *
+     * @throws WriteTimeoutException if the commit did not happen within the timeout
+     */
+    public <T> T execute(Supplier<T> work) {
+        PendingWrite<T> pending = enqueue(work);
+        CompletableFuture<T> future = pending.future;
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (pending.cancel()) {
+                throw new WriteTimeoutException(timeoutMs);
+            }
+            // The writer already has it: the outcome is only a commit away.
+            return joinUnwrapped(future);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (pending.cancel()) {
+                throw new IllegalStateException("Interrupted while waiting for the write queue", e);
+            }
+            return joinUnwrapped(future);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static <T> T joinUnwrapped(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void drainLoop() {
+        while (running) {
+            List<PendingWrite<?>> batch = new ArrayList<>();
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, maxBatch - batch.size());
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingWrite<?> next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatch - batch.size());
+                }
+            } catch (InterruptedException e) {
+                batch.forEach(p -> p.future.completeExceptionally(new IllegalStateException("Write queue is shutting down")));
+                Thread.currentThread().interrupt();
+                return;
+            }
+            // Units whose callers timed out (or that were completed by stop()) never run.
+            batch.removeIf(p -> !p.start());
+            if (!batch.isEmpty()) {
+                commit(batch);
+            }
+        }
+    }
+
+    private void commit(List<PendingWrite<?>> batch) {
+        List<Object> results;
+        try {
+            results = transactionTemplate.execute(status -> {
+                List<Object> out = new ArrayList<>(batch.size());
+                for (PendingWrite<?> pending : batch) {
+                    out.add(pending.work.get());
+                    // Surface constraint violations while we still know whose write it was.
+                    entityManager.flush();
+                }
+                return out;
+            });
+        } catch (RuntimeException | Error groupFailure) {
+            if (batch.size() == 1) {
+                batch.get(0).future.completeExceptionally(groupFailure);
+            } else {
+                log.debug("Group of {} writes rolled back ({}); retrying one by one", batch.size(), groupFailure.toString());
+                batch.forEach(this::commitAlone);
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).complete(results.get(i));
+        }
+    }
+
+    private void commitAlone(PendingWrite<?> pending) {
+        try {
+            Object result = transactionTemplate.execute(status -> pending.work.get());
+            pending.complete(result);
+        } catch (RuntimeException | Error e) {
+            pending.future.completeExceptionally(e);
+        }
+    }
+
+    /** The writer did not get to a unit within app.write-queue.timeout-ms; it was not run. */
+    public static class WriteTimeoutException extends RuntimeException {
+        public WriteTimeoutException(long timeoutMs) {
+            super("Write not committed within " + timeoutMs + " ms");
+        }
+    }
+
+    private static final class PendingWrite<T> {
+        private static final int QUEUED = 0;
+        private static final int RUNNING = 1;
+        private static final int CANCELLED = 2;
+
+        private final Supplier<T> work;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+
+        private PendingWrite(Supplier<T> work) {
+            this.work = work;
+        }
+
+        /** Writer side: claims the unit for running, unless its caller gave up first. */
+        private boolean start() {
+            return !future.isDone() && state.compareAndSet(QUEUED, RUNNING);
+        }
+
+        /** Caller side: withdraws the unit, unless the writer has already claimed it. */
+        private boolean cancel() {
+            if (!state.compareAndSet(QUEUED, CANCELLED)) {
+                return false;
+            }
+            future.cancel(false);
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void complete(Object result) {
+            future.complete((T) result);
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.backend.gamelibrarybackend.service;
+
+import com.backend.gamelibrarybackend.events.GameChangeEvent;
+import com.backend.gamelibrarybackend.events.GameSnapshot;
+import com.backend.gamelibrarybackend.models.GameItemEntity;
+import com.backend.gamelibrarybackend.models.ImageVariantEntity;
+import com.backend.gamelibrarybackend.repository.GameItemRepository;
+import com.backend.gamelibrarybackend.repository.ImageVariantRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Produces downscaled JPEG copies of uploaded images (128/512/1024 px wide by default)
+ * so grid views need not download full-size art. Runs after the upload has been
+ * answered, on a small bounded pool: the original is stored and returned as before,
+ * and the variants are stored next to it ({@code <name>_w512.jpg}) once ready.
+ *
+ * Variants are recorded in image_variant by source URL and attached to responses as
+ * imageVariants/galleryVariants ({@code width -> url}). Widths at or above the
+ * original's are skipped; images ImageIO cannot decode simply get no variants.
+ * Anything that fails here only costs the variants, never the upload.
+ *
+ * Uploads are untrusted, so the dimensions are read from the header before any pixel
+ * is decoded: images over {@code app.image-variants.max-pixels} are skipped, and large
+ * ones are decoded subsampled, down to about twice the widest variant they need.
+ */
+@Service
+public class ImageVariantService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageVariantService.class);
+
+    private final ImageVariantRepository variantRepository;
+    private final GameItemRepository gameItemRepository;
+    private final GameWriteQueue gameWriteQueue;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final boolean enabled;
+    private final List<Integer> widths;
+    private final float quality;
+    private final long maxPixels;
+    private final ThreadPoolExecutor executor;
+
+    public ImageVariantService(ImageVariantRepository variantRepository,
+                               GameItemRepository gameItemRepository,
+                               GameWriteQueue gameWriteQueue,
+                               ApplicationEventPublisher eventPublisher,
+                               CacheManager cacheManager,
+                               @Value("${app.image-variants.enabled:true}") boolean enabled,
+                               @Value("${app.image-variants.widths:128,512,1024}") List<Integer> widths,
+                               @Value("${app.image-variants.quality:0.8}") float quality,
+                               @Value("${app.image-variants.threads:1}") int threads,
+                               @Value("${app.image-variants.queue-size:100}") int queueSize,
+                               @Value("${app.image-variants.max-pixels:40000000}") long maxPixels) {
+        this.variantRepository = variantRepository;
+        this.gameItemRepository = gameItemRepository;
+        this.gameWriteQueue = gameWriteQueue;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.enabled = enabled;
+        this.widths = widths.stream().filter(w -> w > 0).sorted().distinct().toList();
+        this.quality = quality;
+        this.maxPixels = maxPixels;
+        AtomicInteger counter = new AtomicInteger();
+        int poolSize = Math.max(1, threads);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)), r -> {
+                    Thread t = new Thread(r, "image-variants-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues variant generation for an image just stored at {@code sourceUrl}. The
+     * upload is copied to a temp file first because the multipart file is gone once
+     * the request completes.
+     */
+    public void schedule(MultipartFile image, String sourceUrl, String userId, MediaStorage storage) {
+        if (!enabled || widths.isEmpty()) {
+            return;
+        }
+        String contentType = image.getContentType();
+        if (contentType == null || !contentType.startsWith("image/")) {
+            return;
+        }
+        // Content-addressed uploads: the same image uploaded again has the same URL,
+        // and its variants are already there.
+        if (variantRepository.existsBySourceUrl(sourceUrl)) {
+            return;
+        }
+        Path copy;
+        try {
+            copy = Files.createTempFile("variant-src-", ".img");
+            image.transferTo(copy);
+        } catch (IOException ex) {
+            log.warn("Could not stage {} for variants: {}", sourceUrl, ex.getMessage());
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(copy, sourceUrl, userId, storage);
+                } catch (Exception ex) {
+                    log.warn("Image variants failed for {}: {}", sourceUrl, ex.getMessage());
+                } finally {
+                    deleteQuietly(copy);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            log.warn("Image variant queue full; skipping {}", sourceUrl);
+            deleteQuietly(copy);
+        }
+    }
+
+    /** {@code sourceUrl -> (width -> variant url)} for the given images, in one query. */
+    public Map<String, Map<Integer, String>> findVariants(Collection<String> sourceUrls) {
+        Map<String, Map<Integer, String>> bySource = new LinkedHashMap<>();
+        if (sourceUrls.isEmpty()) {
+            return bySource;
+        }
+        for (ImageVariantEntity variant : variantRepository.findBySourceUrlIn(sourceUrls)) {
+            bySource.computeIfAbsent(variant.getSourceUrl(), k -> new LinkedHashMap<>())
+                    .put(variant.getWidth(), variant.getUrl());
+        }
+        return bySource;
+    }
+
+    private void generate(Path source, String sourceUrl, String userId, MediaStorage storage) throws IOException {
+        Decoded decoded = decode(source, sourceUrl);
+        if (decoded == null) {
+            return;
+        }
+        BufferedImage original = decoded.image();
+        String baseName = baseName(sourceUrl);
+        Map<Integer, String> stored = new LinkedHashMap<>();
+        for (int width : widths) {
+            if (width >= decoded.sourceWidth()) {
+                break;
+            }
+            byte[] jpeg = encodeJpeg(resize(original, width));
+            stored.put(width, storage.store(userId, baseName + "_w" + width + ".jpg", jpeg, "image/jpeg"));
+        }
+        if (stored.isEmpty()) {
+            return;
+        }
+
+        List<Long> affected = gameWriteQueue.execute(() -> {
+            for (Map.Entry<Integer, String> entry : stored.entrySet()) {
+                if (!variantRepository.existsBySourceUrlAndWidth(sourceUrl, entry.getKey())) {
+                    variantRepository.save(new ImageVariantEntity(sourceUrl, entry.getKey(), entry.getValue()));
+                }
+            }
+            // Games already showing this image get a MEDIA event so cached lists and
+            // ETags pick the variants up; an image not yet attached needs nothing.
+            // Their updatedAt moves too, or a detail tag would keep answering 304.
+            List<Long> ids = new ArrayList<>();
+            for (GameItemEntity game : gameItemRepository.findReferencingImage(userId, sourceUrl)) {
+                game.setUpdatedAt(Instant.now());
+                GameItemEntity saved = gameItemRepository.save(game);
+                eventPublisher.publishEvent(GameChangeEvent.media(GameSnapshot.of(saved)));
+                ids.add(saved.getId());
+            }
+            return ids;
+        });
+        Cache detail = cacheManager.getCache("gameDetail");
+        if (detail != null) {
+            affected.forEach(id -> detail.evict(userId + ":" + id));
+        }
+    }
+
+    private record Decoded(BufferedImage image, int sourceWidth) {
+    }
+
+    /**
+     * Decodes the upload, or returns null if no reader understands it or it is over the
+     * pixel budget. Only the header is read before that check; past it, every
+     * {@code step}-th row and column is decoded, keeping at least twice the width of
+     * the largest variant this image will get to scale down from.
+     */
+    private Decoded decode(Path source, String sourceUrl) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if (width <= 0 || height <= 0 || (long) width * height > maxPixels) {
+                    log.warn("Skipping variants for {}: {}x{} is over the {} pixel budget",
+                            sourceUrl, width, height, maxPixels);
+                    return null;
+                }
+                int widest = 0;
+                for (int w : widths) {
+                    if (w < width) {
+                        widest = w;
+                    }
+                }
+                if (widest == 0) {
+                    return null;
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, width / (widest * 2));
+                if (step > 1) {
+                    param.setSourceSubsampling(step, step, 0, 0);
+                }
+                return new Decoded(reader.read(0, param), width);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /** Downscales in halving steps, then once more to the exact width, so bilinear stays sharp. */
+    private static BufferedImage resize(BufferedImage source, int targetWidth) {
+        int targetHeight = Math.max(1, Math.round(source.getHeight() * (targetWidth / (float) source.getWidth())));
+        BufferedImage current = source;
+        int w = source.getWidth();
+        int h = source.getHeight();
+        do {
+            w = Math.max(targetWidth, w / 2);
+            h = (w == targetWidth) ? targetHeight : Math.max(targetHeight, h / 2);
+            BufferedImage step = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = step.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                // JPEG has no alpha: flatten transparent PNGs onto white rather than black.
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, w, h);
+                g.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            current = step;
+        } while (w > targetWidth);
+        return current;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    /** Last path segment of the URL without its extension: ".../uid/123_cover.png" -> "123_cover". */
+    static String baseName(String url) {
+        String path = url;
+        int query = path.indexOf('?');
+        if (query >= 0) {
+            path = path.substring(0, query);
+        }
+        String name = path.substring(path.lastIndexOf('/') + 1);
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // temp file; the OS cleans up eventually
+        }
+    }
+}
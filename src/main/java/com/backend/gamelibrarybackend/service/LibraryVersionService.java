@@ -0,0 +1,105 @@
+package com.backend.gamelibrarybackend.service;
+
+import com.backend.gamelibrarybackend.events.GameChangeEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A per-user counter bumped after every committed change to that user's games, and
+ * the ETags built from it.
+ *
+ *   list   W/"<epoch>-<version>[~<fields>]"
+ *   detail W/"<epoch>-<version>-<id>-<updatedAt millis>[~<fields>]"
+ *
+ * {@code ~<fields>} is the {@code fields=} subset (GameFields#key), absent for full
+ * bodies, so a tag only ever matches a body of the same shape. Tags are weak because
+ * responses may be sent gzip-compressed, and Tomcat does not compress a response
+ * carrying a strong ETag.
+ *
+ * The epoch is this process's start time, so counters that restart at zero can never
+ * reproduce a tag handed out by an earlier run. A detail tag can be answered twice
+ * over: if its version is still current nothing changed at all (no query needed),
+ * and if only its id/updatedAt part matches, the library changed but this game did not.
+ *
+ * Ordered after ListResponseCache's invalidation: once a request sees the new
+ * version, the cached lists for the old one are already gone.
+ */
+@Service
+public class LibraryVersionService {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public long current(String userId) {
+        AtomicLong version = versions.get(userId);
+        return version != null ? version.get() : 0L;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onGameChanged(GameChangeEvent event) {
+        versions.computeIfAbsent(event.userId(), k -> new AtomicLong()).incrementAndGet();
+    }
+
+    public String listEtag(long version, String fields) {
+        return "W/\"" + epoch + "-" + version + suffix(fields) + "\"";
+    }
+
+    public String detailEtag(long version, Long id, Instant updatedAt, String fields) {
+        long updated = updatedAt != null ? updatedAt.toEpochMilli() : 0L;
+        return "W/\"" + epoch + "-" + version + "-" + id + "-" + updated + suffix(fields) + "\"";
+    }
+
+    /** The client's detail tag if it was issued at {@code version} (nothing has changed since), else null. */
+    public String currentDetailTag(String ifNoneMatch, long version, Long id, String fields) {
+        String prefix = "\"" + epoch + "-" + version + "-" + id + "-";
+        return parse(ifNoneMatch).stream()
+                .filter(tag -> tag.startsWith(prefix) && fieldsOf(tag).equals(fields))
+                .findFirst()
+                .map(tag -> "W/" + tag)
+                .orElse(null);
+    }
+
+    /** True if the client's detail tag still describes this exact row, whatever version it came with. */
+    public boolean detailUnchanged(String ifNoneMatch, Long id, Instant updatedAt, String fields) {
+        long updated = updatedAt != null ? updatedAt.toEpochMilli() : 0L;
+        String suffix = "-" + id + "-" + updated + suffix(fields) + "\"";
+        return parse(ifNoneMatch).stream().anyMatch(tag -> tag.endsWith(suffix));
+    }
+
+    private static String suffix(String fields) {
+        return fields == null || fields.isEmpty() ? "" : "~" + fields;
+    }
+
+    private static String fieldsOf(String tag) {
+        int tilde = tag.indexOf('~');
+        return tilde < 0 || !tag.endsWith("\"") ? "" : tag.substring(tilde + 1, tag.length() - 1);
+    }
+
+    private static List<String> parse(String ifNoneMatch) {
+        List<String> tags = new ArrayList<>();
+        if (ifNoneMatch == null) {
+            return tags;
+        }
+        for (String raw : ifNoneMatch.split(",")) {
+            String tag = raw.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (!tag.isEmpty()) {
+                tags.add(tag);
+            }
+        }
+        return tags;
+    }
+}
@@ -0,0 +1,88 @@
+package com.backend.gamelibrarybackend.service;
+
+import com.backend.gamelibrarybackend.events.GameChangeEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Already-encoded JSON for the hot list endpoints (favourites, 100%, to-be-completed,
+ * by-year), grouped per user. A hit is handed to the response as bytes: no query, no
+ * entity, no Jackson.
+ *
+ * Any committed change to a user's games drops that user's whole group, and nothing
+ * else. A page that was being built while the change committed is written into the
+ * dropped group, which is no longer reachable, so it can never resurface as stale.
+ */
+@Service
+public class ListResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final int maxEntriesPerUser;
+    private final int maxBodyBytes;
+    private final Cache<String, Map<String, byte[]>> byUser;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ListResponseCache(ObjectMapper objectMapper,
+                             @Value("${app.list-cache.max-users:500}") long maxUsers,
+                             @Value("${app.list-cache.max-entries-per-user:32}") int maxEntriesPerUser,
+                             @Value("${app.list-cache.max-body-bytes:1048576}") int maxBodyBytes) {
+        this.objectMapper = objectMapper;
+        this.maxEntriesPerUser = maxEntriesPerUser;
+        this.maxBodyBytes = maxBodyBytes;
+        this.byUser = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(Duration.ofMinutes(30))
+                .build();
+    }
+
+    /** Cached bytes for {@code key}, or the serialized result of {@code loader}. */
+    public byte[] get(String userId, String key, Supplier<Object> loader) {
+        Map<String, byte[]> group = byUser.get(userId, k -> new ConcurrentHashMap<>());
+        byte[] cached = group.get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(loader.get());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize list response", e);
+        }
+        if (body.length <= maxBodyBytes && group.size() < maxEntriesPerUser) {
+            group.put(key, body);
+        }
+        return body;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onGameChanged(GameChangeEvent event) {
+        byUser.invalidate(event.userId());
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+}
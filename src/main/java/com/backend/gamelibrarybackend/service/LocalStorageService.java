@@ -11,16 +11,19 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 
 /**
  * Stores uploaded images/videos on the local filesystem instead of the cloud.
- * Files are written under {storage.local.dir}/{userId}/ and served back by
- * {@code WebConfig} at /uploads/**. Active only under the 'local' profile, so it
+ * Files are written under {storage.local.dir}/{userId}/ with content-addressed
+ * names (see ContentKeys) and served back by
+ * {@code MediaController} at /uploads/**. Active only under the 'local' profile, so it
  * transparently replaces S3/Firebase storage when running the app locally.
  */
 @Service
 @Profile("local")
-public class LocalStorageService {
+public class LocalStorageService implements MediaStorage {
 
     private final Path baseDir;
     private final String publicBaseUrl;
@@ -34,19 +37,58 @@ public class LocalStorageService {
                 : publicBaseUrl;
     }
 
-    public String upload(MultipartFile file, String userId) throws IOException {
-        String originalName = file.getOriginalFilename();
-        String safeName = (originalName != null) ? Paths.get(originalName).getFileName().toString() : "upload";
-        String fileName = System.currentTimeMillis() + "_" + safeName;
+    @Override
+    public String backend() {
+        return "local";
+    }
 
+    /**
+     * Streams the upload to a temp file in the user's directory while hashing it, then
+     * moves it to {@code <sha256>.<ext>}. If that object is already there the temp
+     * file is dropped instead: same bytes, same URL, nothing written twice.
+     */
+    @Override
+    public StoredMedia put(MultipartFile file, String userId) throws IOException {
         Path userDir = baseDir.resolve(userId);
         Files.createDirectories(userDir);
-        Path target = userDir.resolve(fileName);
-
-        try (InputStream in = file.getInputStream()) {
-            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+        Path temp = Files.createTempFile(userDir, ".upload-", ".tmp");
+        try {
+            MessageDigest sha256 = ContentKeys.sha256();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), sha256)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String fileName = ContentKeys.fileName(sha256.digest(), file.getOriginalFilename());
+            Path target = userDir.resolve(fileName);
+            boolean created = !Files.exists(target);
+            if (created) {
+                // Same directory, so the move is a rename; a concurrent upload of the
+                // same bytes just replaces identical content.
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            // Content-addressed: another upload may share this file, so never roll it back.
+            return new StoredMedia(publicBaseUrl + "/" + userId + "/" + fileName, false);
+        } finally {
+            Files.deleteIfExists(temp);
         }
+    }
 
+    @Override
+    public String store(String userId, String fileName, byte[] data, String contentType) throws IOException {
+        Path userDir = baseDir.resolve(userId);
+        Files.createDirectories(userDir);
+        Files.write(userDir.resolve(fileName), data);
         return publicBaseUrl + "/" + userId + "/" + fileName;
     }
+
+    @Override
+    public void delete(String url) throws IOException {
+        String prefix = publicBaseUrl + "/";
+        if (url == null || !url.startsWith(prefix)) {
+            return;
+        }
+        Path target = baseDir.resolve(url.substring(prefix.length())).normalize();
+        if (target.startsWith(baseDir)) {
+            Files.deleteIfExists(target);
+        }
+    }
 }
@@ -0,0 +1,38 @@
+package com.backend.gamelibrarybackend.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+/**
+ * Where uploaded media ends up: local disk, S3 or Firebase Storage. Objects live under
+ * a per-user prefix ({@code userId/...}) and are addressed by the public URL returned.
+ */
+public interface MediaStorage {
+
+    /**
+     * The stored object's URL, and whether it belongs to this call alone and may be
+     * removed when rolling a batch back. Content-addressed objects never do: the same
+     * bytes uploaded concurrently (or already attached to a game) resolve to the same
+     * object, so a failed batch leaves them in place.
+     */
+    record StoredMedia(String url, boolean removable) {
+    }
+
+    /** Short backend name used to tag metrics: local, s3 or firebase. */
+    String backend();
+
+    /** Stores an uploaded file under the user's prefix. */
+    StoredMedia put(MultipartFile file, String userId) throws IOException;
+
+    /** Stores an uploaded file under the user's prefix and returns its public URL. */
+    default String upload(MultipartFile file, String userId) throws IOException {
+        return put(file, userId).url();
+    }
+
+    /** Stores generated bytes as {@code userId/fileName} and returns their public URL. */
+    String store(String userId, String fileName, byte[] data, String contentType) throws IOException;
+
+    /** Removes an object previously returned by this storage; unknown URLs are ignored. */
+    void delete(String url) throws IOException;
+}
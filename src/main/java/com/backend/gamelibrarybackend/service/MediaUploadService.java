@@ -0,0 +1,146 @@
+package com.backend.gamelibrarybackend.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Uploads a batch of files concurrently, one virtual thread per file, so a batch
+ * takes about as long as its slowest file rather than the sum of all of them. A
+ * fair semaphore shared by all requests caps how many transfers are in flight at once.
+ *
+ * All or nothing: the first failure cancels the files still uploading, deletes the
+ * objects that belong to this batch alone and is rethrown. Content-addressed objects
+ * are left in place, since a concurrent upload of the same bytes may be about to use
+ * them; at worst they stay unreferenced. URLs come back in the order of the files.
+ *
+ * Every stored file is recorded as media.upload (duration) and media.upload.bytes,
+ * tagged with the storage backend and whether it succeeded.
+ */
+@Service
+public class MediaUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(MediaUploadService.class);
+
+    private final ImageVariantService imageVariantService;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore permits;
+
+    public MediaUploadService(ImageVariantService imageVariantService,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.uploads.max-concurrent:4}") int maxConcurrent) {
+        this.imageVariantService = imageVariantService;
+        this.meterRegistry = meterRegistry;
+        this.permits = new Semaphore(Math.max(1, maxConcurrent), true);
+    }
+
+    /** Stores one image and queues its resized variants. */
+    public String uploadImage(MediaStorage storage, MultipartFile image, String userId) throws IOException {
+        String url = put(storage, image, userId).url();
+        imageVariantService.schedule(image, url, userId, storage);
+        return url;
+    }
+
+    public List<String> uploadAll(MediaStorage storage, MultipartFile[] files, String userId, boolean images)
+            throws IOException {
+        MediaStorage.StoredMedia[] results = new MediaStorage.StoredMedia[files.length];
+        Queue<MediaStorage.StoredMedia> written = new ConcurrentLinkedQueue<>();
+        Throwable failure = null;
+
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("media-upload-", 0).factory())) {
+            ExecutorCompletionService<Void> completion = new ExecutorCompletionService<>(executor);
+            List<Future<Void>> futures = new ArrayList<>(files.length);
+            for (int i = 0; i < files.length; i++) {
+                int index = i;
+                futures.add(completion.submit(() -> {
+                    permits.acquire();
+                    try {
+                        MediaStorage.StoredMedia stored = put(storage, files[index], userId);
+                        written.add(stored);
+                        results[index] = stored;
+                    } finally {
+                        permits.release();
+                    }
+                    return null;
+                }));
+            }
+            try {
+                for (int done = 0; done < files.length && failure == null; done++) {
+                    try {
+                        completion.take().get();
+                    } catch (ExecutionException ex) {
+                        failure = ex.getCause();
+                    }
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                failure = ex;
+            }
+            if (failure != null) {
+                futures.forEach(f -> f.cancel(true));
+            }
+        } // close() waits for every task, so 'written' is complete below
+
+        if (failure != null) {
+            for (MediaStorage.StoredMedia stored : written) {
+                if (stored.removable()) {
+                    try {
+                        storage.delete(stored.url());
+                    } catch (IOException | RuntimeException ex) {
+                        log.warn("Could not remove {} after failed batch upload: {}", stored.url(), ex.getMessage());
+                    }
+                }
+            }
+            if (failure instanceof IOException io) {
+                throw io;
+            }
+            if (failure instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IOException("Media upload failed", failure);
+        }
+
+        if (images) {
+            for (int i = 0; i < files.length; i++) {
+                imageVariantService.schedule(files[i], results[i].url(), userId, storage);
+            }
+        }
+        return Arrays.stream(results).map(MediaStorage.StoredMedia::url).toList();
+    }
+
+    private MediaStorage.StoredMedia put(MediaStorage storage, MultipartFile file, String userId) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            MediaStorage.StoredMedia stored = storage.put(file, userId);
+            outcome = "success";
+            return stored;
+        } finally {
+            sample.stop(meterRegistry.timer("media.upload", "backend", storage.backend(), "outcome", outcome));
+            DistributionSummary.builder("media.upload.bytes")
+                    .baseUnit("bytes")
+                    .tags("backend", storage.backend(), "outcome", outcome)
+                    .register(meterRegistry)
+                    .record(file.getSize());
+        }
+    }
+}
@@ -4,47 +4,184 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import jakarta.annotation.PreDestroy;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.S3Exception;
 
 import java.io.IOException;
-import java.nio.file.Paths;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Service
 @Profile("!local")
-public class S3StorageService {
+public class S3StorageService implements MediaStorage {
 
     private final S3Client s3Client;
+    private final S3AsyncClient s3AsyncClient;
     private final String bucket;
     private final String publicBaseUrl;
+    private final boolean multipartEnabled;
+    private final long multipartThreshold;
+    // Feeds request bodies to the async client; reading the spooled upload blocks.
+    private final ExecutorService bodyReaders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("s3-body-", 0).factory());
 
     public S3StorageService(S3Client s3Client,
+                            S3AsyncClient s3AsyncClient,
                             @Value("${storage.s3.bucket:}") String bucket,
-                            @Value("${storage.s3.public-base-url:}") String publicBaseUrl) {
+                            @Value("${storage.s3.public-base-url:}") String publicBaseUrl,
+                            @Value("${storage.s3.multipart.enabled:true}") boolean multipartEnabled,
+                            @Value("${storage.s3.multipart.threshold-bytes:8388608}") long multipartThreshold) {
         this.s3Client = s3Client;
+        this.s3AsyncClient = s3AsyncClient;
         this.bucket = bucket;
         this.publicBaseUrl = publicBaseUrl;
+        this.multipartEnabled = multipartEnabled;
+        this.multipartThreshold = multipartThreshold;
     }
 
-    public String upload(MultipartFile file, String userId) throws IOException {
-        String originalName = file.getOriginalFilename();
-        String safeName = (originalName != null) ? Paths.get(originalName).getFileName().toString() : "upload";
-        String key = userId + "/" + System.currentTimeMillis() + "_" + safeName;
+    @PreDestroy
+    void stop() {
+        bodyReaders.shutdownNow();
+    }
+
+    @Override
+    public String backend() {
+        return "s3";
+    }
+
+    /**
+     * Content-addressed: the upload is hashed first (the multipart file is already
+     * spooled, so it can be read twice) and stored as {@code userId/<sha256>.<ext>}.
+     * If that key already exists, a HEAD request replaces the whole transfer.
+     */
+    @Override
+    public StoredMedia put(MultipartFile file, String userId) throws IOException {
+        MessageDigest sha256 = ContentKeys.sha256();
+        try (InputStream in = new DigestInputStream(file.getInputStream(), sha256)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        byte[] digest = sha256.digest();
+        String key = userId + "/" + ContentKeys.fileName(digest, file.getOriginalFilename());
+
+        boolean created;
+        try {
+            created = !exists(key);
+            if (created && multipartEnabled && file.getSize() >= multipartThreshold) {
+                putMultipart(file, key);
+            } else if (created) {
+                PutObjectRequest request = PutObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .contentType(file.getContentType())
+                        // The key names the content, so the object never changes.
+                        .cacheControl("public, max-age=31536000, immutable")
+                        .checksumSHA256(Base64.getEncoder().encodeToString(digest))
+                        .build();
+
+                s3Client.putObject(request, RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
+            }
+        } catch (S3Exception e) {
+            throw new RuntimeException("Failed to upload to S3", e);
+        }
+
+        // Content-addressed: another upload may share this object, so never roll it back.
+        return new StoredMedia(publicUrl(key), false);
+    }
+
+    /**
+     * Large files (videos, mostly) go through the async client as a multipart upload,
+     * so parts travel over several connections at once and only the configured buffer
+     * is held in memory. Waiting on the future is interruptible; cancelling it (e.g.
+     * when a sibling upload in the batch fails) aborts the multipart upload.
+     */
+    private void putMultipart(MultipartFile file, String key) throws IOException {
+        PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(file.getContentType())
+                .cacheControl("public, max-age=31536000, immutable")
+                .build();
+
+        try (InputStream in = file.getInputStream()) {
+            CompletableFuture<?> upload = s3AsyncClient.putObject(request,
+                    AsyncRequestBody.fromInputStream(in, file.getSize(), bodyReaders));
+            try {
+                upload.get();
+            } catch (InterruptedException e) {
+                upload.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new IOException("S3 upload interrupted", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof SdkException sdk) {
+                    throw new RuntimeException("Failed to upload to S3", sdk);
+                }
+                throw new IOException("Failed to upload to S3", e.getCause());
+            }
+        }
+    }
+
+    private boolean exists(String key) {
+        try {
+            s3Client.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).build());
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return false;
+            }
+            throw e;
+        }
+    }
 
+    @Override
+    public String store(String userId, String fileName, byte[] data, String contentType) {
+        String key = userId + "/" + fileName;
         try {
             PutObjectRequest request = PutObjectRequest.builder()
                     .bucket(bucket)
                     .key(key)
-                    .contentType(file.getContentType())
+                    .contentType(contentType)
                     .build();
 
-            s3Client.putObject(request, RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
+            s3Client.putObject(request, RequestBody.fromBytes(data));
         } catch (S3Exception e) {
             throw new RuntimeException("Failed to upload to S3", e);
         }
 
+        return publicUrl(key);
+    }
+
+    @Override
+    public void delete(String url) {
+        String prefix = publicUrl("");
+        if (url == null || !url.startsWith(prefix)) {
+            return;
+        }
+        try {
+            s3Client.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(url.substring(prefix.length())).build());
+        } catch (S3Exception e) {
+            throw new RuntimeException("Failed to delete from S3", e);
+        }
+    }
+
+    public String publicUrl(String key) {
         String separator = publicBaseUrl.endsWith("/") ? "" : "/";
         return publicBaseUrl + separator + key;
     }
@@ -0,0 +1,188 @@
+package com.backend.gamelibrarybackend;
+
+import com.backend.gamelibrarybackend.dto.GameCursor;
+import com.backend.gamelibrarybackend.models.GameItemEntity;
+import com.backend.gamelibrarybackend.repository.GameItemRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.TestPropertySource;
+
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every GameItemRepository query once, the bulk UPDATE/DELETE statements
+ * included, captures the SQL Hibernate sends, and asks SQLite for its plan with
+ * EXPLAIN QUERY PLAN. A full table scan, a temp B-tree (for ORDER BY, DISTINCT or
+ * GROUP BY) or an automatic index means a query no longer matches the indexes
+ * declared on GameItemEntity, and the test lists which ones. A method added to the
+ * repository must be added here too, or to EXCLUDED with the reason it is not planned.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:sqlite:./build/test-queryplan.db",
+        "spring.datasource.driver-class-name=org.sqlite.JDBC",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.community.dialect.SQLiteDialect",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.backend.gamelibrarybackend.QueryPlanTest$CapturingInspector"
+})
+class QueryPlanTest {
+
+    private static final String USER = "plan-user";
+
+    // Repository methods deliberately left out of the plan check, with the reason.
+    private static final Map<String, String> EXCLUDED = Map.of();
+
+    @Autowired
+    private GameItemRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private long gameId;
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < 5; i++) {
+            GameItemEntity game = new GameItemEntity(
+                    "Game " + i, 2018 + i, i % 2 == 0 ? 2020 : 0,
+                    i % 2 == 0, i == 0, i < 3, null, "https://img/cover" + i + ".png", USER);
+            game.getGallery().add("https://img/g" + i + ".png");
+            game.getVideos().add("https://img/v" + i + ".mp4");
+            gameId = repository.save(game).getId();
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void everyRepositoryQueryUsesAnIndexWithoutTempSort() {
+        GameCursor start = GameCursor.START;
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("findFavouritePage", () ->
+                repository.findFavouritePage(USER, start.createdAt(), start.id(), Limit.of(10)));
+        queries.put("findHundredPercentPage", () ->
+                repository.findHundredPercentPage(USER, start.createdAt(), start.id(), Limit.of(10)));
+        queries.put("findToBeCompletedPage", () ->
+                repository.findToBeCompletedPage(USER, start.createdAt(), start.id(), Limit.of(10)));
+        queries.put("findCompletedByYearPage", () ->
+                repository.findCompletedByYearPage(USER, 2020, start.createdAt(), start.id(), Limit.of(10)));
+        queries.put("findListItemsByIds", () -> repository.findListItemsByIds(USER, List.of(gameId, gameId - 1)));
+        queries.put("findListItemsByUserId", () -> repository.findListItemsByUserId(USER));
+        queries.put("findGalleryUrls", () -> repository.findGalleryUrls(List.of(gameId, gameId - 1)));
+        queries.put("findVideoUrls", () -> repository.findVideoUrls(List.of(gameId, gameId - 1)));
+        queries.put("findReferencingImage", () -> repository.findReferencingImage(USER, "https://img/g1.png"));
+        queries.put("findByUserIdAndIdIn", () -> repository.findByUserIdAndIdIn(USER, List.of(gameId, gameId - 1)));
+        queries.put("findWithGalleryByIdAndUserId", () -> repository.findWithGalleryByIdAndUserId(gameId, USER));
+        queries.put("streamByUserId", () -> {
+            try (Stream<GameItemEntity> games = repository.streamByUserId(USER)) {
+                games.count();
+            }
+        });
+        queries.put("countByUserId", () -> repository.countByUserId(USER));
+        queries.put("existsByUserIdAndNameAndYear", () -> repository.existsByUserIdAndNameAndYear(USER, "Game 1", 2019));
+        queries.put("existsByUserIdAndNameAndYearAndIdNot", () ->
+                repository.existsByUserIdAndNameAndYearAndIdNot(USER, "Game 1", 2019, gameId));
+        queries.put("existsByIdAndUserId", () -> repository.existsByIdAndUserId(gameId, USER));
+        queries.put("findByIdAndUserId", () -> repository.findByIdAndUserId(gameId, USER));
+        // Bulk writes; they run in the test's transaction and are rolled back with it.
+        List<Long> ids = List.of(gameId, gameId - 1);
+        Instant now = Instant.now();
+        queries.put("updateFavourite", () -> repository.updateFavourite(USER, ids, true, now));
+        queries.put("updateHundredPercent", () -> repository.updateHundredPercent(USER, ids, true, now));
+        queries.put("updateCompletedYear", () -> repository.updateCompletedYear(USER, ids, 2021, now));
+        queries.put("updateCompleted", () -> repository.updateCompleted(USER, ids, true, now));
+        queries.put("fillMissingCompletedYear", () -> repository.fillMissingCompletedYear(USER, ids));
+        // Child rows first, as GameBatchService deletes them.
+        queries.put("deleteGalleryByGameIds", () -> repository.deleteGalleryByGameIds(ids));
+        queries.put("deleteVideosByGameIds", () -> repository.deleteVideosByGameIds(ids));
+        queries.put("deleteByUserIdAndIds", () -> repository.deleteByUserIdAndIds(USER, ids));
+
+        Set<String> declared = Arrays.stream(GameItemRepository.class.getDeclaredMethods())
+                .filter(method -> !method.isSynthetic() && !method.isDefault())
+                .map(Method::getName)
+                .collect(Collectors.toSet());
+        assertThat(Stream.concat(queries.keySet().stream(), EXCLUDED.keySet().stream()))
+                .as("GameItemRepository methods planned here or excluded")
+                .containsExactlyInAnyOrderElementsOf(declared);
+
+        List<String> violations = new ArrayList<>();
+        queries.forEach((name, query) -> {
+            CapturingInspector.SQL.clear();
+            query.run();
+            entityManager.clear();
+            List<String> statements = CapturingInspector.SQL.stream()
+                    .filter(QueryPlanTest::isPlanned)
+                    .toList();
+            assertThat(statements).as("SQL captured for %s", name).isNotEmpty();
+            for (String sql : statements) {
+                for (String step : explain(sql)) {
+                    if (step.startsWith("SCAN") || step.contains("TEMP B-TREE") || step.contains("AUTOMATIC")) {
+                        violations.add(name + ": " + step + "\n    " + sql);
+                    }
+                }
+            }
+        });
+
+        assertThat(violations).as("queries without a usable index").isEmpty();
+    }
+
+    private static boolean isPlanned(String sql) {
+        String verb = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return verb.startsWith("select") || verb.startsWith("update") || verb.startsWith("delete");
+    }
+
+    // Plan steps for one statement; unbound parameters do not change the chosen plan.
+    private List<String> explain(String sql) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            List<String> steps = new ArrayList<>();
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setNull(i, Types.NULL);
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        steps.add(rs.getString("detail"));
+                    }
+                }
+            }
+            return steps;
+        });
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+}
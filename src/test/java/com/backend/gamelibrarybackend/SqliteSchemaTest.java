@@ -1,13 +1,19 @@
 package com.backend.gamelibrarybackend;
 
+import com.backend.gamelibrarybackend.dto.GameCursor;
+import com.backend.gamelibrarybackend.dto.GameListItemDTO;
+import com.backend.gamelibrarybackend.dto.GameMediaUrlDTO;
 import com.backend.gamelibrarybackend.models.GameItemEntity;
 import com.backend.gamelibrarybackend.repository.GameItemRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.TestPropertySource;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -44,15 +50,51 @@ class SqliteSchemaTest {
 
         assertThat(repository.countByUserId("user-1")).isEqualTo(1);
 
-        List<GameItemEntity> favourites =
-                repository.findByUserIdAndIsFavouriteTrueOrderByCreatedAtDesc("user-1");
+        List<GameListItemDTO> favourites = repository.findFavouritePage(
+                "user-1", GameCursor.START.createdAt(), GameCursor.START.id(), Limit.of(10));
         assertThat(favourites).hasSize(1);
-        GameItemEntity loaded = favourites.get(0);
-        assertThat(loaded.getCreatedAt()).isNotNull();
+        assertThat(favourites.get(0).createdAt()).isNotNull();
+
+        GameItemEntity loaded = repository.findWithGalleryByIdAndUserId(game.getId(), "user-1").orElseThrow();
         assertThat(loaded.getGallery()).containsExactly("https://img/g1.png");
         assertThat(loaded.getVideos()).containsExactly("https://img/v1.mp4");
 
         // The custom JPQL query (used by the "games by year" screen) must run on SQLite too.
-        assertThat(repository.findCompletedByYearWithFallback("user-1", 2018)).hasSize(1);
+        assertThat(repository.findCompletedByYearPage(
+                "user-1", 2018, GameCursor.START.createdAt(), GameCursor.START.id(), Limit.of(10))).hasSize(1);
+
+        // List views get their media from one IN query per collection.
+        assertThat(repository.findGalleryUrls(List.of(game.getId())))
+                .extracting(GameMediaUrlDTO::url).containsExactly("https://img/g1.png");
+        assertThat(repository.findVideoUrls(List.of(game.getId())))
+                .extracting(GameMediaUrlDTO::url).containsExactly("https://img/v1.mp4");
+    }
+
+    @Test
+    void keysetPagesWalkTheWholeListWithoutOverlap() {
+        // Same createdAt for every row so the id tie-breaker is what keeps pages apart.
+        Instant sameInstant = Instant.parse("2024-01-01T00:00:00Z");
+        for (int i = 0; i < 7; i++) {
+            GameItemEntity game = new GameItemEntity(
+                    "Game " + i, 2020 + i, 0, false, false, true, null, null, "user-2");
+            game.setCreatedAt(sameInstant);
+            repository.save(game);
+        }
+
+        List<Long> seen = new ArrayList<>();
+        GameCursor cursor = GameCursor.START;
+        while (true) {
+            List<GameListItemDTO> page = repository.findFavouritePage(
+                    "user-2", cursor.createdAt(), cursor.id(), Limit.of(3));
+            page.forEach(g -> seen.add(g.id()));
+            if (page.size() < 3) {
+                break;
+            }
+            GameListItemDTO last = page.get(page.size() - 1);
+            cursor = GameCursor.decode(new GameCursor(last.createdAt(), last.id()).encode());
+        }
+
+        assertThat(seen).hasSize(7).doesNotHaveDuplicates();
+        assertThat(seen).isSortedAccordingTo((a, b) -> Long.compare(b, a));
     }
 }
@@ -0,0 +1,119 @@
+package com.backend.gamelibrarybackend.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * BulkheadDataSource in front of a stub DataSource: a failed getConnection gives its
+ * permit back, a connection closed twice releases once, waiters are served in arrival
+ * order, and a caller that outwaits the timeout gets SQLTransientConnectionException
+ * without reaching the pool.
+ */
+class BulkheadDataSourceTest {
+
+    private DataSource target;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(call -> mock(Connection.class));
+    }
+
+    @Test
+    void aFailedGetConnectionReturnsItsPermit() throws SQLException {
+        BulkheadDataSource bulkhead = new BulkheadDataSource(target, "test", 2, 100);
+        when(target.getConnection())
+                .thenThrow(new SQLException("pool down"))
+                .thenThrow(new IllegalStateException("pool closed"));
+
+        assertThatThrownBy(bulkhead::getConnection).isInstanceOf(SQLException.class).hasMessage("pool down");
+        assertThatThrownBy(bulkhead::getConnection).isInstanceOf(IllegalStateException.class);
+
+        assertThat(bulkhead.available()).isEqualTo(2);
+    }
+
+    @Test
+    void closingTwiceReleasesOnce() throws SQLException {
+        BulkheadDataSource bulkhead = new BulkheadDataSource(target, "test", 2, 100);
+        Connection first = bulkhead.getConnection();
+        Connection second = bulkhead.getConnection();
+        assertThat(bulkhead.available()).isZero();
+
+        first.close();
+        first.close();
+
+        assertThat(bulkhead.available()).isEqualTo(1);
+        second.close();
+        assertThat(bulkhead.available()).isEqualTo(2);
+    }
+
+    @Test
+    void waitersAreServedInArrivalOrder() throws Exception {
+        BulkheadDataSource bulkhead = new BulkheadDataSource(target, "test", 1, 5_000);
+        List<String> served = new CopyOnWriteArrayList<>();
+        Connection held = bulkhead.getConnection();
+
+        Thread first = waiter(bulkhead, "first", served);
+        awaitUntil(() -> bulkhead.waiting() == 1);
+        Thread second = waiter(bulkhead, "second", served);
+        awaitUntil(() -> bulkhead.waiting() == 2);
+        Thread third = waiter(bulkhead, "third", served);
+        awaitUntil(() -> bulkhead.waiting() == 3);
+
+        held.close();
+        for (Thread thread : List.of(first, second, third)) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+
+        assertThat(served).containsExactly("first", "second", "third");
+        assertThat(bulkhead.available()).isEqualTo(1);
+    }
+
+    @Test
+    void outwaitingTheTimeoutFailsWithoutReachingThePool() throws SQLException {
+        BulkheadDataSource bulkhead = new BulkheadDataSource(target, "reader", 1, 100);
+        try (Connection held = bulkhead.getConnection()) {
+            assertThatThrownBy(bulkhead::getConnection)
+                    .isInstanceOf(SQLTransientConnectionException.class)
+                    .hasMessageContaining("reader")
+                    .hasMessageContaining("100ms");
+            verify(target, times(1)).getConnection();
+        }
+        assertThat(bulkhead.available()).isEqualTo(1);
+    }
+
+    // Takes a connection, records that it was served, and hands the permit on.
+    private static Thread waiter(BulkheadDataSource bulkhead, String name, List<String> served) {
+        return Thread.ofVirtual().name(name).start(() -> {
+            try (Connection connection = bulkhead.getConnection()) {
+                served.add(name);
+            } catch (SQLException e) {
+                served.add(name + " failed: " + e.getMessage());
+            }
+        });
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.backend.gamelibrarybackend.config;
+
+import com.backend.gamelibrarybackend.config.TokenVerifier.InvalidTokenException;
+import com.backend.gamelibrarybackend.config.TokenVerifier.VerifiedToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The local RS256 path of FirebaseTokenVerifier against a key pair generated here:
+ * what it accepts, each claim it rejects, the SDK fallback for an unknown kid, and
+ * that a cached token stops being served once its exp (plus skew) has passed.
+ */
+class FirebaseTokenVerifierTest {
+
+    private static final String PROJECT = "demo-project";
+    private static final String KID = "key-1";
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    private static KeyPair keyPair;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MutableClock clock;
+    private FirebaseAuth firebaseAuth;
+    private FirebaseTokenVerifier verifier;
+
+    @BeforeAll
+    static void generateKeys() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+    }
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(NOW);
+        firebaseAuth = mock(FirebaseAuth.class);
+        FirebasePublicKeys publicKeys = mock(FirebasePublicKeys.class);
+        when(publicKeys.isLoaded()).thenReturn(true);
+        when(publicKeys.get(KID)).thenReturn(keyPair.getPublic());
+        verifier = new FirebaseTokenVerifier(firebaseAuth, null, publicKeys, objectMapper,
+                new SimpleMeterRegistry(), PROJECT, 100, clock);
+    }
+
+    @Test
+    void acceptsAValidTokenAndServesRepeatsFromTheCache() throws Exception {
+        String token = sign(KID, claims());
+
+        VerifiedToken verified = verifier.verify(token);
+        VerifiedToken again = verifier.verify(token);
+
+        assertThat(verified.uid()).isEqualTo("user-1");
+        assertThat(verified.email()).isEqualTo("user@example.com");
+        assertThat(verified.expiresAt()).isEqualTo(NOW.plus(Duration.ofHours(1)).plus(Duration.ofMinutes(5)));
+        assertThat(again).isEqualTo(verified);
+        assertThat(verifier.stats()).containsEntry("hits", 1L).containsEntry("localVerifications", 1L);
+        verify(firebaseAuth, never()).verifyIdToken(token);
+    }
+
+    @Test
+    void rejectsWrongAudience() {
+        Map<String, Object> claims = claims();
+        claims.put("aud", "other-project");
+        assertRejected(sign(KID, claims));
+    }
+
+    @Test
+    void rejectsWrongIssuer() {
+        Map<String, Object> claims = claims();
+        claims.put("iss", "https://securetoken.google.com/other-project");
+        assertRejected(sign(KID, claims));
+    }
+
+    @Test
+    void rejectsMissingSubject() {
+        Map<String, Object> claims = claims();
+        claims.put("sub", "");
+        assertRejected(sign(KID, claims));
+    }
+
+    @Test
+    void rejectsAnExpiredTokenBeyondTheSkew() {
+        Map<String, Object> claims = claims();
+        claims.put("iat", NOW.minus(Duration.ofHours(2)).getEpochSecond());
+        claims.put("exp", NOW.minus(Duration.ofMinutes(10)).getEpochSecond());
+        assertRejected(sign(KID, claims));
+    }
+
+    @Test
+    void rejectsATokenIssuedInTheFuture() {
+        Map<String, Object> claims = claims();
+        claims.put("iat", NOW.plus(Duration.ofMinutes(10)).getEpochSecond());
+        assertRejected(sign(KID, claims));
+    }
+
+    @Test
+    void rejectsATamperedPayload() {
+        String token = sign(KID, claims());
+        Map<String, Object> forged = claims();
+        forged.put("sub", "someone-else");
+        String[] parts = token.split("\\.");
+        assertRejected(parts[0] + "." + encode(forged) + "." + parts[2]);
+    }
+
+    @Test
+    void rejectsAForeignSignature() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        assertRejected(sign(KID, claims(), generator.generateKeyPair()));
+    }
+
+    @Test
+    void fallsBackToTheSdkForAnUnknownKid() throws Exception {
+        String token = sign("rotated-key", claims());
+        when(firebaseAuth.verifyIdToken(token)).thenThrow(mock(FirebaseAuthException.class));
+
+        assertRejected(token);
+        verify(firebaseAuth).verifyIdToken(token);
+        assertThat(verifier.stats()).containsEntry("localVerifications", 0L);
+    }
+
+    @Test
+    void stopsServingACachedTokenOnceItExpires() throws Exception {
+        Map<String, Object> claims = claims();
+        claims.put("exp", NOW.plus(Duration.ofMinutes(1)).getEpochSecond());
+        String token = sign(KID, claims);
+        verifier.verify(token);
+
+        clock.set(NOW.plus(Duration.ofMinutes(5)));
+        assertThat(verifier.verify(token).uid()).isEqualTo("user-1");
+        assertThat(verifier.stats()).containsEntry("hits", 1L);
+
+        // exp + 5 minutes of skew has passed: no cache hit, and the token itself is rejected.
+        clock.set(NOW.plus(Duration.ofMinutes(7)));
+        assertRejected(token);
+        assertThat(verifier.stats()).containsEntry("hits", 1L).containsEntry("misses", 2L);
+    }
+
+    private void assertRejected(String token) {
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(InvalidTokenException.class);
+    }
+
+    private static Map<String, Object> claims() {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("iss", "https://securetoken.google.com/" + PROJECT);
+        claims.put("aud", PROJECT);
+        claims.put("sub", "user-1");
+        claims.put("email", "user@example.com");
+        claims.put("iat", NOW.minus(Duration.ofMinutes(1)).getEpochSecond());
+        claims.put("exp", NOW.plus(Duration.ofHours(1)).getEpochSecond());
+        return claims;
+    }
+
+    private String sign(String kid, Map<String, Object> claims) {
+        return sign(kid, claims, keyPair);
+    }
+
+    private String sign(String kid, Map<String, Object> claims, KeyPair keys) {
+        try {
+            String signingInput = encode(Map.of("alg", "RS256", "kid", kid, "typ", "JWT")) + "." + encode(claims);
+            Signature rsa = Signature.getInstance("SHA256withRSA");
+            rsa.initSign(keys.getPrivate());
+            rsa.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+            return signingInput + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(rsa.sign());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String encode(Map<String, Object> json) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(json));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void set(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
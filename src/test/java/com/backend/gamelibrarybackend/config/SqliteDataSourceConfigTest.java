@@ -0,0 +1,90 @@
+package com.backend.gamelibrarybackend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SqliteDataSourceConfig's routing through JPA: a read-only transaction runs on a
+ * reader connection (PRAGMA query_only on) and leaves the writer idle, a read-write
+ * transaction runs on the single writer connection (query_only off).
+ *
+ * Test methods run outside a transaction so each TransactionTemplate opens its own.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SqliteDataSourceConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:sqlite:./build/test-routing.db",
+        "spring.datasource.driver-class-name=org.sqlite.JDBC",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.community.dialect.SQLiteDialect",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "app.datasource.read-pool-size=2"
+})
+class SqliteDataSourceConfigTest {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    @Qualifier("sqliteWriterDataSource")
+    private HikariDataSource writer;
+
+    @Autowired
+    @Qualifier("sqliteReaderDataSource")
+    private HikariDataSource reader;
+
+    @Test
+    void aReadOnlyTransactionRunsOnAQueryOnlyReader() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        readOnly.executeWithoutResult(status -> {
+            assertThat(queryOnly()).isEqualTo(1);
+            assertThat(reader.getHikariPoolMXBean().getActiveConnections()).isEqualTo(1);
+            assertThat(writer.getHikariPoolMXBean().getActiveConnections()).isZero();
+        });
+    }
+
+    @Test
+    void aWriteTransactionRunsOnTheSingleWriter() {
+        assertThat(writer.getMaximumPoolSize()).isEqualTo(1);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            assertThat(queryOnly()).isZero();
+            assertThat(writer.getHikariPoolMXBean().getActiveConnections()).isEqualTo(1);
+            assertThat(reader.getHikariPoolMXBean().getActiveConnections()).isZero();
+        });
+    }
+
+    // Asked on the connection the current transaction's statements actually run on.
+    private int queryOnly() {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("PRAGMA query_only")) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        });
+    }
+}
@@ -0,0 +1,169 @@
+package com.backend.gamelibrarybackend.controllers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MediaController's Range handling: parseRange on its own for every header shape the
+ * servlet can be sent, then serve() end to end against a temp upload directory for the
+ * 206/416 responses and the If-None-Match / If-Range revalidation paths.
+ */
+class MediaControllerTest {
+
+    private static final String BODY = "0123456789";
+    private static final String MODIFIED = "Mon, 15 Jan 2024 10:00:00 GMT";
+    private static final String MODIFIED_EARLIER = "Sun, 14 Jan 2024 10:00:00 GMT";
+    private static final String MODIFIED_LATER = "Tue, 16 Jan 2024 10:00:00 GMT";
+
+    @TempDir
+    Path uploads;
+
+    private MediaController controller;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.createDirectories(uploads.resolve("user"));
+        Files.writeString(uploads.resolve("user/clip.mp4"), BODY, StandardCharsets.US_ASCII);
+        Files.setLastModifiedTime(uploads.resolve("user/clip.mp4"),
+                FileTime.from(Instant.parse("2024-01-15T10:00:00Z")));
+        controller = new MediaController(uploads.toString());
+    }
+
+    @Test
+    void openEndedRangeRunsToTheEnd() {
+        assertThat(MediaController.parseRange("bytes=0-", 10)).containsExactly(0, 9);
+        assertThat(MediaController.parseRange("bytes=4-", 10)).containsExactly(4, 9);
+    }
+
+    @Test
+    void suffixRangeCountsFromTheEnd() {
+        assertThat(MediaController.parseRange("bytes=-3", 10)).containsExactly(7, 9);
+        assertThat(MediaController.parseRange("bytes=-50", 10)).as("longer than the file").containsExactly(0, 9);
+        assertThat(MediaController.parseRange("bytes=-0", 10)).isNull();
+    }
+
+    @Test
+    void endPastTheFileIsClamped() {
+        assertThat(MediaController.parseRange("bytes=2-5", 10)).containsExactly(2, 5);
+        assertThat(MediaController.parseRange("bytes=2-999", 10)).containsExactly(2, 9);
+    }
+
+    @Test
+    void startAtOrPastTheEndIsUnsatisfiable() {
+        assertThat(MediaController.parseRange("bytes=10-", 10)).isNull();
+        assertThat(MediaController.parseRange("bytes=25-30", 10)).isNull();
+        assertThat(MediaController.parseRange("bytes=0-", 0)).as("empty file").isNull();
+    }
+
+    @Test
+    void multipleRangesServeTheWholeFile() {
+        assertThat(MediaController.parseRange("bytes=0-1,4-5", 10)).isEmpty();
+    }
+
+    @Test
+    void malformedHeadersServeTheWholeFile() {
+        assertThat(MediaController.parseRange("items=0-1", 10)).isEmpty();
+        assertThat(MediaController.parseRange("bytes=", 10)).isEmpty();
+        assertThat(MediaController.parseRange("bytes=5", 10)).isEmpty();
+        assertThat(MediaController.parseRange("bytes=-", 10)).isEmpty();
+        assertThat(MediaController.parseRange("bytes=a-b", 10)).isEmpty();
+        assertThat(MediaController.parseRange("bytes=6-2", 10)).as("end before start").isEmpty();
+    }
+
+    @Test
+    void servesASingleRangeAs206() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-4");
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-4/10");
+        assertThat(response.getContentAsString()).isEqualTo("234");
+    }
+
+    @Test
+    void answersAnUnsatisfiableRangeWith416() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-");
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */10");
+    }
+
+    @Test
+    void aCurrentETagIsNotModified() throws IOException {
+        String etag = serve(get()).getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void ifRangeHonoursTheRangeOnlyForTheCurrentVersion() throws IOException {
+        String etag = serve(get()).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletRequest current = get();
+        current.addHeader(HttpHeaders.RANGE, "bytes=0-1");
+        current.addHeader(HttpHeaders.IF_RANGE, etag);
+        MockHttpServletResponse partial = serve(current);
+        assertThat(partial.getStatus()).isEqualTo(206);
+        assertThat(partial.getContentAsString()).isEqualTo("01");
+
+        MockHttpServletRequest stale = get();
+        stale.addHeader(HttpHeaders.RANGE, "bytes=0-1");
+        stale.addHeader(HttpHeaders.IF_RANGE, "\"0-0\"");
+        MockHttpServletResponse whole = serve(stale);
+        assertThat(whole.getStatus()).isEqualTo(200);
+        assertThat(whole.getContentAsString()).isEqualTo(BODY);
+
+        assertWholeFileFor("W/" + etag);
+        assertWholeFileFor("not a date");
+        assertWholeFileFor(MODIFIED_LATER);
+        assertWholeFileFor(MODIFIED_EARLIER);
+
+        MockHttpServletRequest exactDate = get();
+        exactDate.addHeader(HttpHeaders.RANGE, "bytes=0-1");
+        exactDate.addHeader(HttpHeaders.IF_RANGE, MODIFIED);
+        assertThat(serve(exactDate).getStatus()).isEqualTo(206);
+    }
+
+    private void assertWholeFileFor(String ifRange) throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-1");
+        request.addHeader(HttpHeaders.IF_RANGE, ifRange);
+        MockHttpServletResponse response = serve(request);
+        assertThat(response.getStatus()).as("If-Range: %s", ifRange).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(BODY);
+    }
+
+    private static MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/uploads/user/clip.mp4");
+    }
+
+    private MockHttpServletResponse serve(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.serve(request, response);
+        return response;
+    }
+}
@@ -0,0 +1,108 @@
+package com.backend.gamelibrarybackend.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * GameFields: what the fields= parameter accepts, the canonical key that goes into
+ * cache keys and ETags, which collections the read path may skip, and the trimmed
+ * JSON for a single game, a list and a CursorPage.
+ */
+class GameFieldsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void unknownFieldIsRejected() {
+        assertThatThrownBy(() -> GameFields.parse("name,rating"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown field: rating");
+        assertThatThrownBy(() -> GameFields.parse("Name"))
+                .as("names are case-sensitive, like the JSON")
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void orderDuplicatesAndBlanksNormalizeToOneKey() {
+        String key = GameFields.parse("year,name").key();
+
+        assertThat(key).isEqualTo("id.name.year");
+        assertThat(GameFields.parse("name,year").key()).isEqualTo(key);
+        assertThat(GameFields.parse(" name , year,name,,").key()).isEqualTo(key);
+        assertThat(GameFields.parse("id,year,name").key()).isEqualTo(key);
+        assertThat(GameFields.parse("name").key()).isNotEqualTo(key);
+    }
+
+    @Test
+    void missingOrBlankMeansEveryField() {
+        assertThat(GameFields.parse(null)).isSameAs(GameFields.ALL);
+        assertThat(GameFields.parse("  ")).isSameAs(GameFields.ALL);
+        assertThat(GameFields.ALL.key()).isEmpty();
+        assertThat(GameFields.ALL.needsGallery()).isTrue();
+        assertThat(GameFields.ALL.needsVideos()).isTrue();
+    }
+
+    @Test
+    void collectionsAreOnlyLoadedWhenAskedFor() {
+        GameFields flat = GameFields.parse("name,year,favourite,imageUrl");
+        assertThat(flat.needsGallery()).isFalse();
+        assertThat(flat.needsVideos()).isFalse();
+        assertThat(flat.needsVariants()).isFalse();
+
+        GameFields galleryVariants = GameFields.parse("galleryVariants");
+        assertThat(galleryVariants.needsGallery()).isTrue();
+        assertThat(galleryVariants.needsVariants()).isTrue();
+        assertThat(galleryVariants.needsVideos()).isFalse();
+    }
+
+    @Test
+    void projectTrimsEveryShapeOfBody() {
+        GameFields fields = GameFields.parse("name,favourite");
+        GameListItemDTO game = game(1L, "Celeste");
+
+        JsonNode single = tree(fields.project(objectMapper, game));
+        assertThat(fieldNames(single)).containsExactlyInAnyOrder("id", "name", "favourite");
+        assertThat(single.has("gallery")).isFalse();
+        assertThat(single.has("videos")).isFalse();
+
+        JsonNode list = tree(fields.project(objectMapper, List.of(game, game(2L, "Hades"))));
+        assertThat(list).hasSize(2);
+        list.forEach(g -> assertThat(fieldNames(g)).containsExactlyInAnyOrder("id", "name", "favourite"));
+
+        JsonNode page = tree(fields.project(objectMapper, new CursorPage<>(List.of(game), "abc")));
+        assertThat(page.get("next").asText()).isEqualTo("abc");
+        assertThat(fieldNames(page.get("items").get(0))).containsExactlyInAnyOrder("id", "name", "favourite");
+    }
+
+    @Test
+    void projectLeavesTheBodyAloneForEveryField() {
+        GameListItemDTO game = game(1L, "Celeste");
+
+        assertThat(GameFields.ALL.project(objectMapper, game)).isSameAs(game);
+    }
+
+    private JsonNode tree(Object projected) {
+        return objectMapper.valueToTree(projected);
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+
+    private static GameListItemDTO game(Long id, String name) {
+        return new GameListItemDTO(id, name, 2018, 2019, true, false, true, "desc", "https://img/c.png",
+                "user", "note", List.of("https://img/g.png"), List.of("https://img/v.mp4"),
+                Map.of(128, "https://img/c_w128.jpg"), Map.of(), Instant.EPOCH, Instant.EPOCH);
+    }
+}
@@ -0,0 +1,171 @@
+package com.backend.gamelibrarybackend.service;
+
+import com.backend.gamelibrarybackend.dto.GameListItemDTO;
+import com.backend.gamelibrarybackend.events.GameChangeEvent;
+import com.backend.gamelibrarybackend.events.GameSnapshot;
+import com.backend.gamelibrarybackend.models.GameChangeLogEntity;
+import com.backend.gamelibrarybackend.models.GameItemEntity;
+import com.backend.gamelibrarybackend.repository.GameChangeLogRepository;
+import com.backend.gamelibrarybackend.repository.GameItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+/**
+ * The delta-sync feed on SQLite with a page size of 3 and no tombstone retention:
+ * changes collapse to one entry per game, deletes come back as tombstones, pages
+ * chain through next/more, and compaction drops superseded rows and old tombstones
+ * (answering older syncs with ChangesGoneException) but never the newest row.
+ *
+ * The log and its seq are shared by every user, so each test uses its own user and
+ * only compares seqs relative to the head it started from.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({GameWriteQueue.class, GameChangeLogService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:sqlite:./build/test-changelog.db",
+        "spring.datasource.driver-class-name=org.sqlite.JDBC",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.community.dialect.SQLiteDialect",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "app.change-log.page-size=3",
+        "app.change-log.tombstone-retention=PT0S"
+})
+class GameChangeLogServiceTest {
+
+    @Autowired
+    private GameChangeLogService changeLogService;
+
+    @Autowired
+    private GameChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private GameItemRepository gameItemRepository;
+
+    @MockitoBean
+    private GameQueryService gameQueryService;
+
+    @BeforeEach
+    void setUp() {
+        when(gameQueryService.attachMedia(anyList())).thenAnswer(call -> call.getArgument(0));
+    }
+
+    @Test
+    void changesCollapsePerGameAndDeletesBecomeTombstones() {
+        long since = changeLogRepository.findHeadSeq();
+        GameItemEntity first = save("Celeste", "sync-user");
+        GameItemEntity second = save("Hades", "sync-user");
+        GameItemEntity gone = save("Tunic", "sync-user");
+        GameItemEntity foreign = save("Celeste", "other-user");
+
+        created(first);
+        created(second);
+        changeLogService.onGameChanged(GameChangeEvent.updated(GameSnapshot.of(first), GameSnapshot.of(first)));
+        created(foreign);
+        created(gone);
+        delete(gone);
+
+        GameChangeLogService.Changes changes = changeLogService.changesSince("sync-user", since);
+
+        assertThat(changes.games()).extracting(GameListItemDTO::id)
+                .containsExactlyInAnyOrder(first.getId(), second.getId());
+        assertThat(changes.deleted()).containsExactly(gone.getId());
+        assertThat(changes.more()).isFalse();
+        assertThat(changes.next()).isEqualTo(changeLogRepository.findHeadSeq());
+    }
+
+    @Test
+    void pagesChainThroughNextWhileMore() {
+        long since = changeLogRepository.findHeadSeq();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            GameItemEntity game = save("Game " + i, "page-user");
+            created(game);
+            ids.add(game.getId());
+        }
+
+        GameChangeLogService.Changes first = changeLogService.changesSince("page-user", since);
+        assertThat(first.games()).extracting(GameListItemDTO::id).containsExactlyInAnyOrderElementsOf(ids.subList(0, 3));
+        assertThat(first.more()).isTrue();
+
+        GameChangeLogService.Changes second = changeLogService.changesSince("page-user", first.next());
+        assertThat(second.games()).extracting(GameListItemDTO::id).containsExactlyInAnyOrderElementsOf(ids.subList(3, 5));
+        assertThat(second.more()).isFalse();
+
+        GameChangeLogService.Changes caughtUp = changeLogService.changesSince("page-user", second.next());
+        assertThat(caughtUp.games()).isEmpty();
+        assertThat(caughtUp.deleted()).isEmpty();
+        assertThat(caughtUp.next()).isEqualTo(second.next());
+    }
+
+    @Test
+    void compactionDropsSupersededRowsAndExpiredTombstones() throws Exception {
+        long since = changeLogRepository.findHeadSeq();
+        GameItemEntity kept = save("Outer Wilds", "compact-user");
+        GameItemEntity gone = save("Inside", "compact-user");
+        created(kept);
+        created(gone);
+        delete(gone);
+        long tombstone = changeLogRepository.findHeadSeq();
+        changeLogService.onGameChanged(GameChangeEvent.note(GameSnapshot.of(kept)));
+        Thread.sleep(5); // the tombstone must be older than the (zero) retention
+
+        changeLogService.compact();
+
+        assertThat(changeLogRepository.findByUserIdAndSeqGreaterThanOrderBySeq("compact-user", since, Limit.of(10)))
+                .extracting(GameChangeLogEntity::getType)
+                .containsExactly("NOTE");
+        assertThatThrownBy(() -> changeLogService.changesSince("compact-user", since))
+                .isInstanceOf(GameChangeLogService.ChangesGoneException.class);
+        GameChangeLogService.Changes afterTombstone = changeLogService.changesSince("compact-user", tombstone);
+        assertThat(afterTombstone.games()).extracting(GameListItemDTO::id).containsExactly(kept.getId());
+        assertThat(afterTombstone.deleted()).isEmpty();
+    }
+
+    @Test
+    void compactionKeepsTheNewestRowEvenIfItIsAnExpiredTombstone() throws Exception {
+        long since = changeLogRepository.findHeadSeq();
+        GameItemEntity gone = save("Braid", "head-user");
+        created(gone);
+        delete(gone);
+        long head = changeLogRepository.findHeadSeq();
+        Thread.sleep(5);
+
+        changeLogService.compact();
+
+        assertThat(changeLogRepository.findHeadSeq()).as("seq must not be handed out again").isEqualTo(head);
+        GameChangeLogService.Changes changes = changeLogService.changesSince("head-user", since);
+        assertThat(changes.games()).isEmpty();
+        assertThat(changes.deleted()).containsExactly(gone.getId());
+    }
+
+    private GameItemEntity save(String name, String userId) {
+        return gameItemRepository.save(new GameItemEntity(name, 2020, 0, false, false, false, null, null, userId));
+    }
+
+    private void created(GameItemEntity game) {
+        changeLogService.onGameChanged(GameChangeEvent.created(GameSnapshot.of(game)));
+    }
+
+    private void delete(GameItemEntity game) {
+        gameItemRepository.deleteById(game.getId());
+        changeLogService.onGameChanged(GameChangeEvent.deleted(GameSnapshot.of(game)));
+    }
+}
@@ -0,0 +1,157 @@
+package com.backend.gamelibrarybackend.service;
+
+import com.backend.gamelibrarybackend.dto.GameListItemDTO;
+import com.backend.gamelibrarybackend.dto.GameMediaUrlDTO;
+import com.backend.gamelibrarybackend.repository.GameItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * GameImportService end to end on SQLite with a batch size of 2, so most inputs span
+ * several write-queue units: both body formats, duplicate counting through
+ * ON CONFLICT DO NOTHING (against the library and within the file), and what a
+ * malformed body leaves behind.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({GameWriteQueue.class, GameImportService.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:sqlite:./build/test-import.db",
+        "spring.datasource.driver-class-name=org.sqlite.JDBC",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.community.dialect.SQLiteDialect",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "app.import.batch-size=2"
+})
+class GameImportServiceTest {
+
+    @Autowired
+    private GameImportService importService;
+
+    @Autowired
+    private GameItemRepository repository;
+
+    @Test
+    void importsAJsonArray() throws Exception {
+        GameImportService.ImportResult result = importService.importGames(body("""
+                [
+                  {"name": "Celeste", "year": 2018, "completed": true},
+                  {"name": "Hades", "year": 2020, "favourite": true},
+                  {"name": "Tunic", "year": 2022}
+                ]
+                """), "array-user");
+
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getSkipped()).isZero();
+        assertThat(repository.countByUserId("array-user")).isEqualTo(3);
+    }
+
+    @Test
+    void importsNdjsonWithMedia() throws Exception {
+        GameImportService.ImportResult result = importService.importGames(body("""
+                {"name": "Outer Wilds", "year": 2019, "gallery": ["https://img/a.png", "https://img/b.png"]}
+                {"name": "Inside", "year": 2016, "videos": ["https://img/v.mp4"]}
+                """), "ndjson-user");
+
+        assertThat(result.getImported()).isEqualTo(2);
+        List<Long> ids = repository.findListItemsByUserId("ndjson-user").stream().map(GameListItemDTO::id).toList();
+        assertThat(repository.findGalleryUrls(ids)).extracting(GameMediaUrlDTO::url)
+                .containsExactlyInAnyOrder("https://img/a.png", "https://img/b.png");
+        assertThat(repository.findVideoUrls(ids)).extracting(GameMediaUrlDTO::url)
+                .containsExactly("https://img/v.mp4");
+    }
+
+    @Test
+    void countsDuplicatesFromTheLibraryAndFromTheFileAcrossBatches() throws Exception {
+        importService.importGames(body("""
+                {"name": "Existing", "year": 2020}
+                """), "dup-user");
+
+        // Batches of two: [Existing, New] [New, Other]; the blank name never reaches a batch.
+        GameImportService.ImportResult result = importService.importGames(body("""
+                {"name": "Existing", "year": 2020}
+                {"name": "New", "year": 2021}
+                {"name": "", "year": 2021}
+                {"name": "New", "year": 2021}
+                {"name": "Other", "year": 2022}
+                """), "dup-user");
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getSkipped()).isEqualTo(2);
+        assertThat(result.getInvalid()).isEqualTo(1);
+        assertThat(repository.countByUserId("dup-user")).isEqualTo(3);
+    }
+
+    @Test
+    void sameGameForAnotherUserIsNotADuplicate() throws Exception {
+        String game = """
+                {"name": "Shared", "year": 2020}
+                """;
+        importService.importGames(body(game), "owner-a");
+
+        assertThat(importService.importGames(body(game), "owner-b").getImported()).isEqualTo(1);
+    }
+
+    @Test
+    void malformedInputMidwayKeepsWhatCameBeforeIt() {
+        assertThatThrownBy(() -> importService.importGames(body("""
+                {"name": "One", "year": 2001}
+                {"name": "Two", "year": 2002}
+                {"name": "Three", "year": 2003}
+                {"name": "Broken" "year": 2004}
+                {"name": "Never", "year": 2005}
+                """), "broken-user"))
+                // One full batch committed before the error, the half-filled one right after it.
+                .isInstanceOfSatisfying(GameImportService.ImportFormatException.class,
+                        ex -> assertThat(ex.getPartial().getImported()).isEqualTo(3));
+        assertThat(repository.countByUserId("broken-user")).isEqualTo(3);
+        assertThat(repository.existsByUserIdAndNameAndYear("broken-user", "Never", 2005)).isFalse();
+    }
+
+    @Test
+    void nonObjectInsideTheArrayIsAFormatError() {
+        assertThatThrownBy(() -> importService.importGames(body("""
+                [{"name": "Fine", "year": 2010}, 42, {"name": "Later", "year": 2011}]
+                """), "array-error-user"))
+                .isInstanceOfSatisfying(GameImportService.ImportFormatException.class, ex -> {
+                    assertThat(ex.getMessage()).contains("VALUE_NUMBER_INT");
+                    assertThat(ex.getPartial().getImported()).isEqualTo(1);
+                });
+        assertThat(repository.countByUserId("array-error-user")).isEqualTo(1);
+    }
+
+    @Test
+    void anExactMultipleOfTheBatchSizeLeavesNoEmptyBatch() throws Exception {
+        GameImportService.ImportResult result = importService.importGames(body("""
+                {"name": "A", "year": 2001}
+                {"name": "B", "year": 2002}
+                {"name": "C", "year": 2003}
+                {"name": "D", "year": 2004}
+                """), "boundary-user");
+
+        assertThat(result.getImported()).isEqualTo(4);
+        assertThat(result.getSkipped()).isZero();
+        assertThat(repository.countByUserId("boundary-user")).isEqualTo(4);
+    }
+
+    private static InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,106 @@
+package com.backend.gamelibrarybackend.service;
+
+import com.backend.gamelibrarybackend.dto.CursorPage;
+import com.backend.gamelibrarybackend.dto.GameListItemDTO;
+import com.backend.gamelibrarybackend.dto.SearchCursor;
+import com.backend.gamelibrarybackend.models.GameItemEntity;
+import com.backend.gamelibrarybackend.repository.GameItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+/**
+ * The FTS5 index built by GameSearchService on SQLite: matches stay inside the
+ * caller's library, the per-user token cannot be searched for, and (score, id)
+ * cursors walk every hit exactly once.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(GameSearchService.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:sqlite:./build/test-search.db",
+        "spring.datasource.driver-class-name=org.sqlite.JDBC",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.community.dialect.SQLiteDialect",
+        "spring.jpa.hibernate.ddl-auto=create"
+})
+class GameSearchServiceTest {
+
+    @Autowired
+    private GameSearchService searchService;
+
+    @Autowired
+    private GameItemRepository repository;
+
+    @MockitoBean
+    private GameQueryService gameQueryService;
+
+    @BeforeEach
+    void setUp() {
+        when(gameQueryService.attachMedia(anyList())).thenAnswer(call -> call.getArgument(0));
+    }
+
+    @Test
+    void onlyTheCallersGamesMatch() {
+        repository.save(game("Zelda Breath of the Wild", "alice"));
+        repository.save(game("Zelda Tears of the Kingdom", "Alice"));
+        repository.save(game("Metroid Dread", "alice"));
+
+        CursorPage<GameListItemDTO> page = searchService.search("alice", "zel", SearchCursor.START, 10);
+
+        assertThat(page.items()).extracting(GameListItemDTO::name).containsExactly("Zelda Breath of the Wild");
+        assertThat(page.next()).isNull();
+    }
+
+    @Test
+    void theUserTokenIsNotSearchable() {
+        repository.save(game("Hollow Knight", "bob"));
+
+        String token = GameSearchService.userToken("bob");
+        assertThat(searchService.search("bob", token, SearchCursor.START, 10).items()).isEmpty();
+        assertThat(searchService.search("bob", "u", SearchCursor.START, 10).items()).isEmpty();
+    }
+
+    @Test
+    void cursorsWalkEveryHitOnce() {
+        for (int i = 0; i < 7; i++) {
+            repository.save(game("Pokemon " + i, "carol"));
+        }
+        repository.save(game("Pokemon Elsewhere", "dave"));
+
+        List<Long> seen = new ArrayList<>();
+        SearchCursor after = SearchCursor.START;
+        while (true) {
+            CursorPage<GameListItemDTO> page = searchService.search("carol", "pokemon", after, 3);
+            page.items().forEach(g -> seen.add(g.id()));
+            if (page.next() == null) {
+                break;
+            }
+            after = SearchCursor.decode(page.next());
+        }
+
+        assertThat(seen).hasSize(7).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void operatorsInTheQueryAreTreatedAsText() {
+        repository.save(game("Name with NOT and quotes", "erin"));
+
+        assertThat(searchService.search("erin", "NOT \"quotes", SearchCursor.START, 10).items()).hasSize(1);
+    }
+
+    private static GameItemEntity game(String name, String userId) {
+        return new GameItemEntity(name, 2020, 0, false, false, false, null, null, userId);
+    }
+}
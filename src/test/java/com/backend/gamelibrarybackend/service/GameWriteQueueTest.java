@@ -0,0 +1,199 @@
+package com.backend.gamelibrarybackend.service;
+
+import com.backend.gamelibrarybackend.models.GameItemEntity;
+import com.backend.gamelibrarybackend.repository.GameItemRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * GameWriteQueue against a real SQLite file: units queued together share one
+ * transaction and each gets its own result, a failing unit rolls its group back and
+ * fails alone on the one-by-one retry, a caller stops waiting after timeout-ms only
+ * if its unit has not started (so a timeout means nothing was written), and shutdown
+ * fails whatever is still queued.
+ *
+ * A "blocker" unit holds the writer thread so the units under test pile up behind it.
+ * Test methods run outside a transaction so the writer is the only one writing.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(GameWriteQueue.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:sqlite:./build/test-writequeue.db",
+        "spring.datasource.driver-class-name=org.sqlite.JDBC",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.community.dialect.SQLiteDialect",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "app.write-queue.window-ms=0",
+        "app.write-queue.timeout-ms=500"
+})
+class GameWriteQueueTest {
+
+    private static final String USER = "queue-user";
+
+    @Autowired
+    private GameWriteQueue queue;
+
+    @Autowired
+    private GameItemRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final CountDownLatch blockerStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseBlocker = new CountDownLatch(1);
+
+    @BeforeEach
+    void clean() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void queuedUnitsShareOneTransactionAndEachGetsItsOwnResult() throws Exception {
+        holdWriter();
+        List<CompletableFuture<Session>> futures = new ArrayList<>();
+        List<CompletableFuture<Long>> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            String name = "Game " + i;
+            CompletableFuture<Long> id = new CompletableFuture<>();
+            ids.add(id);
+            futures.add(queue.submit(() -> {
+                id.complete(repository.save(game(name)).getId());
+                return entityManager.unwrap(Session.class);
+            }));
+        }
+        releaseBlocker.countDown();
+
+        Session first = futures.get(0).get(5, TimeUnit.SECONDS);
+        for (CompletableFuture<Session> future : futures) {
+            assertThat(future.get(5, TimeUnit.SECONDS)).isSameAs(first);
+        }
+        for (int i = 0; i < 5; i++) {
+            assertThat(repository.findById(ids.get(i).get())).get()
+                    .extracting(GameItemEntity::getName).isEqualTo("Game " + i);
+        }
+    }
+
+    @Test
+    void aConflictingUnitFailsAloneAndTheOthersCommit() throws Exception {
+        queue.execute(() -> repository.save(game("Taken")));
+        AtomicInteger firstRuns = new AtomicInteger();
+
+        holdWriter();
+        CompletableFuture<Long> first = queue.submit(() -> {
+            firstRuns.incrementAndGet();
+            return repository.save(game("First")).getId();
+        });
+        CompletableFuture<Long> conflict = queue.submit(() -> repository.save(game("Taken")).getId());
+        CompletableFuture<Long> last = queue.submit(() -> repository.save(game("Last")).getId());
+        releaseBlocker.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(last.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThatThrownBy(() -> conflict.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(DataIntegrityViolationException.class);
+        // Ran in the group, was rolled back with it, then committed on its own.
+        assertThat(firstRuns).hasValue(2);
+        assertThat(repository.countByUserId(USER)).isEqualTo(3);
+    }
+
+    @Test
+    void executeThrowsOnTimeoutAndTheUnitNeverRuns() {
+        holdWriter();
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThatThrownBy(() -> queue.execute(runs::incrementAndGet))
+                .isInstanceOf(GameWriteQueue.WriteTimeoutException.class);
+
+        releaseBlocker.countDown();
+        queue.execute(() -> null);
+        assertThat(runs).hasValue(0);
+    }
+
+    @Test
+    void aUnitAlreadyRunningAtTheTimeoutIsWaitedFor() {
+        // Picked up at once, but still running when the 500 ms timeout passes.
+        String result = queue.execute(() -> {
+            try {
+                Thread.sleep(800);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return repository.save(game("Slow")).getName();
+        });
+
+        assertThat(result).isEqualTo("Slow");
+        assertThat(repository.countByUserId(USER)).isEqualTo(1);
+    }
+
+    @Test
+    void executeRethrowsTheUnitsOwnException() {
+        assertThatThrownBy(() -> queue.execute(() -> {
+            throw new IllegalArgumentException("bad input");
+        })).isInstanceOf(IllegalArgumentException.class).hasMessage("bad input");
+    }
+
+    @Test
+    @DirtiesContext
+    void stopFailsQueuedAndLaterWrites() throws Exception {
+        holdWriter();
+        CompletableFuture<Object> queued = queue.submit(() -> null);
+
+        queue.stop();
+        releaseBlocker.countDown();
+
+        assertThatThrownBy(() -> queued.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> queue.submit(() -> null).get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    // Occupies the writer thread until releaseBlocker opens; ignores the interrupt stop() sends.
+    private void holdWriter() {
+        queue.submit(() -> {
+            blockerStarted.countDown();
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    releaseBlocker.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+        try {
+            assertThat(blockerStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static GameItemEntity game(String name) {
+        return new GameItemEntity(name, 2020, 0, false, false, false, null, null, USER);
+    }
+}
@@ -0,0 +1,136 @@
+package com.backend.gamelibrarybackend.service;
+
+import com.backend.gamelibrarybackend.events.GameChangeEvent;
+import com.backend.gamelibrarybackend.events.GameSnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The library version behind the 304-before-query paths: it moves only when a change
+ * commits, a list tag answers 304 only while it is current (checked the way
+ * GameAdminController does, through WebRequest#checkNotModified), detail tags
+ * survive changes to other games, and every fields= subset gets its own tag.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(LibraryVersionService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:sqlite:./build/test-version.db",
+        "spring.datasource.driver-class-name=org.sqlite.JDBC",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.community.dialect.SQLiteDialect",
+        "spring.jpa.hibernate.ddl-auto=create"
+})
+class LibraryVersionServiceTest {
+
+    private static final Instant UPDATED = Instant.parse("2025-01-01T10:00:00Z");
+
+    @Autowired
+    private LibraryVersionService versions;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void versionMovesOnlyWhenAChangeCommits() {
+        assertThat(versions.current("commit-user")).isZero();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            eventPublisher.publishEvent(change("commit-user"));
+            assertThat(versions.current("commit-user")).as("inside the transaction").isZero();
+        });
+        assertThat(versions.current("commit-user")).isEqualTo(1);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            eventPublisher.publishEvent(change("commit-user"));
+            status.setRollbackOnly();
+        });
+        assertThat(versions.current("commit-user")).as("after a rollback").isEqualTo(1);
+        assertThat(versions.current("other-user")).isZero();
+    }
+
+    @Test
+    void listTagIsNotModifiedOnlyWhileCurrent() {
+        String tag = versions.listEtag(versions.current("list-user"), "");
+        assertThat(notModified(tag, versions.listEtag(versions.current("list-user"), ""))).isTrue();
+
+        commitChange("list-user");
+
+        assertThat(notModified(tag, versions.listEtag(versions.current("list-user"), ""))).isFalse();
+    }
+
+    @Test
+    void fieldsSubsetsGetTheirOwnTags() {
+        long version = versions.current("fields-user");
+        String all = versions.listEtag(version, "");
+        String names = versions.listEtag(version, "id.name");
+        String years = versions.listEtag(version, "id.year");
+
+        assertThat(all).isNotEqualTo(names).isNotEqualTo(years);
+        assertThat(names).isNotEqualTo(years);
+        assertThat(notModified(names, years)).isFalse();
+        assertThat(notModified(names, all)).isFalse();
+
+        String detail = versions.detailEtag(version, 7L, UPDATED, "id.name");
+        assertThat(versions.currentDetailTag(detail, version, 7L, "id.name")).isEqualTo(detail);
+        assertThat(versions.currentDetailTag(detail, version, 7L, "")).isNull();
+        assertThat(versions.detailUnchanged(detail, 7L, UPDATED, "id.year")).isFalse();
+    }
+
+    @Test
+    void detailTagOutlivesChangesToOtherGamesButNotToItself() {
+        long version = versions.current("detail-user");
+        String tag = versions.detailEtag(version, 7L, UPDATED, "");
+        assertThat(versions.currentDetailTag(tag, version, 7L, "")).isEqualTo(tag);
+        assertThat(versions.currentDetailTag(tag, version, 8L, "")).isNull();
+
+        commitChange("detail-user");
+        long next = versions.current("detail-user");
+
+        // No longer answerable without a query, but the row itself still matches.
+        assertThat(versions.currentDetailTag(tag, next, 7L, "")).isNull();
+        assertThat(versions.detailUnchanged(tag, 7L, UPDATED, "")).isTrue();
+        assertThat(versions.detailUnchanged(tag, 7L, UPDATED.plusMillis(1), "")).isFalse();
+        assertThat(versions.detailUnchanged("W/\"garbage\", " + tag, 7L, UPDATED, "")).isTrue();
+        assertThat(versions.detailUnchanged(null, 7L, UPDATED, "")).isFalse();
+    }
+
+    // What the controller does with a list request carrying If-None-Match: sent.
+    private static boolean notModified(String sent, String current) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/admin/getFavouriteGames");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, sent);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean notModified = new ServletWebRequest(request, response).checkNotModified(current);
+        assertThat(response.getStatus()).isEqualTo(notModified ? 304 : 200);
+        return notModified;
+    }
+
+    private void commitChange(String userId) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                eventPublisher.publishEvent(change(userId)));
+    }
+
+    private static GameChangeEvent change(String userId) {
+        return GameChangeEvent.created(new GameSnapshot(1L, userId, 2020, 0, false, false, false));
+    }
+}
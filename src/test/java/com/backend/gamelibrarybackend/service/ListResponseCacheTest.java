@@ -0,0 +1,124 @@
+package com.backend.gamelibrarybackend.service;
+
+import com.backend.gamelibrarybackend.events.GameChangeEvent;
+import com.backend.gamelibrarybackend.events.GameSnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ListResponseCache invalidation: a change drops only its own user's entries, only
+ * once its transaction has committed (a rollback drops nothing), and a body that was
+ * being built while the change committed is never served afterwards.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ListResponseCache.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:sqlite:./build/test-listcache.db",
+        "spring.datasource.driver-class-name=org.sqlite.JDBC",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.community.dialect.SQLiteDialect",
+        "spring.jpa.hibernate.ddl-auto=create"
+})
+class ListResponseCacheTest {
+
+    @Autowired
+    private ListResponseCache cache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void aChangeDropsOnlyThatUsersEntries() {
+        cache.get("user-a", "favourites", () -> load("a"));
+        cache.get("user-a", "toBeCompleted", () -> load("a"));
+        cache.get("user-b", "favourites", () -> load("b"));
+        assertThat(loads).hasValue(3);
+
+        commitChange("user-a");
+
+        cache.get("user-b", "favourites", () -> load("b"));
+        assertThat(loads).as("user-b still cached").hasValue(3);
+        cache.get("user-a", "favourites", () -> load("a"));
+        cache.get("user-a", "toBeCompleted", () -> load("a"));
+        assertThat(loads).as("both of user-a's entries reloaded").hasValue(5);
+    }
+
+    @Test
+    void invalidationWaitsForTheCommit() {
+        cache.get("user-c", "favourites", () -> load("old"));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            eventPublisher.publishEvent(change("user-c"));
+            // Still inside the transaction: readers may keep seeing the committed state.
+            assertThat(body("user-c")).isEqualTo("[\"old\"]");
+        });
+
+        assertThat(body("user-c")).isEqualTo("[\"new\"]");
+    }
+
+    @Test
+    void aRolledBackChangeKeepsTheEntries() {
+        cache.get("user-d", "favourites", () -> load("kept"));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            eventPublisher.publishEvent(change("user-d"));
+            status.setRollbackOnly();
+        });
+
+        assertThat(body("user-d")).isEqualTo("[\"kept\"]");
+    }
+
+    @Test
+    void aBodyBuiltAcrossACommitIsNotCached() {
+        // The change commits while this reader is still building its (now stale) body.
+        byte[] stale = cache.get("user-e", "favourites", () -> {
+            commitChange("user-e");
+            return load("stale");
+        });
+        assertThat(new String(stale, StandardCharsets.UTF_8)).isEqualTo("[\"stale\"]");
+
+        assertThat(body("user-e")).isEqualTo("[\"new\"]");
+    }
+
+    private String body(String userId) {
+        return new String(cache.get(userId, "favourites", () -> load("new")), StandardCharsets.UTF_8);
+    }
+
+    private Object load(String marker) {
+        loads.incrementAndGet();
+        return List.of(marker);
+    }
+
+    private void commitChange(String userId) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                eventPublisher.publishEvent(change(userId)));
+    }
+
+    private static GameChangeEvent change(String userId) {
+        return GameChangeEvent.created(new GameSnapshot(1L, userId, 2020, 0, false, false, false));
+    }
+}